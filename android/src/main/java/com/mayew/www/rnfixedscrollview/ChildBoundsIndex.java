@@ -0,0 +1,129 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.facebook.react.uimanager.ReactClippingViewGroup;
+import com.facebook.react.views.view.ReactViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * Sorted top and bottom edges of the children of a scroll content view, so that we can tell in
+ * O(log n) whether moving the viewport from one position to another makes any child enter or
+ * leave it. The bounds of the children that clip their own subviews are kept apart, as those need
+ * their clipping updated on every scroll that keeps them in the viewport.
+ */
+class ChildBoundsIndex {
+    private int[] mTops = new int[0];
+    private int[] mBottoms = new int[0];
+    private int mCount;
+    private int[] mClippingTops = new int[0];
+    private int[] mClippingBottoms = new int[0];
+    private int mClippingCount;
+    private boolean mDirty = true;
+
+    public void invalidate() {
+        mDirty = true;
+    }
+
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Rebuilds the index from the children of {@param content}, including those currently detached
+     * by subview clipping. Edges are stored in the coordinates of the content's parent.
+     */
+    public void rebuild(ViewGroup content) {
+        int count = getAllChildCount(content);
+        if (mTops.length < count) {
+            mTops = new int[count];
+            mBottoms = new int[count];
+        }
+
+        int offset = content.getTop();
+        mClippingCount = 0;
+        for (int i = 0; i < count; i++) {
+            View child = getChildAt(content, i);
+            mTops[i] = child.getTop() + offset;
+            mBottoms[i] = child.getBottom() + offset;
+            if (child instanceof ReactClippingViewGroup
+                    && ((ReactClippingViewGroup) child).getRemoveClippedSubviews()) {
+                addClippingChild(mTops[i], mBottoms[i]);
+            }
+        }
+        Arrays.sort(mTops, 0, count);
+        Arrays.sort(mBottoms, 0, count);
+        mCount = count;
+        mDirty = false;
+    }
+
+    private void addClippingChild(int top, int bottom) {
+        if (mClippingTops.length == mClippingCount) {
+            mClippingTops = Arrays.copyOf(mClippingTops, Math.max(4, mClippingCount * 2));
+            mClippingBottoms = Arrays.copyOf(mClippingBottoms, mClippingTops.length);
+        }
+        mClippingTops[mClippingCount] = top;
+        mClippingBottoms[mClippingCount] = bottom;
+        mClippingCount++;
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    /** Number of children with removeClippedSubviews of their own. */
+    public int getClippingChildCount() {
+        return mClippingCount;
+    }
+
+    /**
+     * Whether a child that clips its own subviews intersects [{@param top}, {@param bottom}).
+     * ReactViewGroup#updateClippingRect updates the clipping of such children recursively, so
+     * their subviews can enter or leave the viewport without any edge of theirs being crossed.
+     */
+    public boolean hasClippingChildIn(int top, int bottom) {
+        for (int i = 0; i < mClippingCount; i++) {
+            if (mClippingTops[i] < bottom && mClippingBottoms[i] > top) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a child edge lies in the band swept by a viewport edge moving from {@param from} to
+     * {@param to}, i.e. whether the set of children intersecting the viewport may have changed.
+     */
+    public boolean hasEdgeBetween(int from, int to) {
+        int low = Math.min(from, to);
+        int high = Math.max(from, to);
+        if (low == high) {
+            return false;
+        }
+        return hasValueIn(mTops, low, high) || hasValueIn(mBottoms, low, high);
+    }
+
+    private boolean hasValueIn(int[] sorted, int low, int high) {
+        int index = Arrays.binarySearch(sorted, 0, mCount, low);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < mCount && sorted[index] <= high;
+    }
+
+    static int getAllChildCount(ViewGroup content) {
+        if (content instanceof ReactViewGroup && ((ReactViewGroup) content).getRemoveClippedSubviews()) {
+            return ((ReactViewGroup) content).getAllChildrenCount();
+        }
+        return content.getChildCount();
+    }
+
+    static View getChildAt(ViewGroup content, int index) {
+        if (content instanceof ReactViewGroup && ((ReactViewGroup) content).getRemoveClippedSubviews()) {
+            return ((ReactViewGroup) content).getChildAtWithSubviewClippingEnabled(index);
+        }
+        return content.getChildAt(index);
+    }
+}
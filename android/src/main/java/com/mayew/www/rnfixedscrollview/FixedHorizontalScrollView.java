@@ -0,0 +1,677 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.widget.HorizontalScrollView;
+import android.widget.OverScroller;
+
+import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.R;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.uimanager.MeasureSpecAssertions;
+import com.facebook.react.uimanager.ReactClippingViewGroup;
+import com.facebook.react.uimanager.ReactClippingViewGroupHelper;
+import com.facebook.react.uimanager.events.NativeGestureUtil;
+import com.facebook.react.uimanager.util.ReactFindViewUtil;
+import com.facebook.react.views.scroll.FpsListener;
+import com.facebook.react.views.scroll.OnScrollDispatchHelper;
+import com.facebook.react.views.scroll.ReactScrollViewHelper;
+import com.facebook.react.views.view.ReactViewBackgroundManager;
+
+import javax.annotation.Nullable;
+
+/**
+ * Horizontal counterpart of {@link FixedScrollView}: the leading part of the content is scrolled
+ * away first, then the rest of the gesture goes to the inner HorizontalScrollView.
+ */
+public class FixedHorizontalScrollView extends HorizontalScrollView implements ReactClippingViewGroup, ViewGroup.OnHierarchyChangeListener, View.OnLayoutChangeListener, ViewTreeObserver.OnGlobalLayoutListener, FixedScrollCommandHelper.HeaderScrollView {
+    private final OnScrollDispatchHelper mOnScrollDispatchHelper = new OnScrollDispatchHelper();
+    private final OverScroller mScroller;
+    private final int mOverflingDistance;
+    private final FlingEdgeGlows mFlingEdgeGlows;
+    private final GestureClassifier mGestureClassifier;
+    private final ScrollEventThrottle mScrollEventThrottle = new ScrollEventThrottle(this,
+            new ScrollEventThrottle.Emitter() {
+                @Override
+                public void emitScrollEvent(float xVelocity, float yVelocity) {
+                    ReactScrollViewHelper.emitScrollEvent(FixedHorizontalScrollView.this, xVelocity, yVelocity);
+                }
+            });
+
+    private @Nullable Rect mClippingRect;
+    private boolean mDragging;
+    private boolean mFlinging;
+    private boolean mRemoveClippedSubviews;
+    private boolean mScrollEnabled = true;
+    private boolean mSendMomentumEvents;
+    private @Nullable FpsListener mFpsListener = null;
+    private @Nullable String mScrollPerfTag;
+    private @Nullable ColorDrawable mEndBackground;
+    private int mEndFillColor = Color.TRANSPARENT;
+    private View mContentView;
+    private ReactViewBackgroundManager mReactBackgroundManager;
+
+    private boolean isIntercept = false;
+    private HorizontalScrollView scrollView = null;
+
+    private @Nullable String mNestedScrollTargetId;
+    private @Nullable HorizontalScrollView mNestedScrollTarget;
+    private boolean mNestedScrollTargetDirty = true;
+
+    private int mMaxScrollWidth;
+
+    private boolean mFlingSendsMomentumEvents;
+
+    public FixedHorizontalScrollView(ReactContext context) {
+        this(context, null);
+    }
+
+    public FixedHorizontalScrollView(ReactContext context, @Nullable FpsListener fpsListener) {
+        super(context);
+        mFpsListener = fpsListener;
+        mReactBackgroundManager = new ReactViewBackgroundManager(this);
+
+        mGestureClassifier = new GestureClassifier(ViewConfiguration.get(context).getScaledTouchSlop());
+
+        // Same as FixedScrollView: the fling scroller is our own instead of HorizontalScrollView's
+        // private one read through reflection.
+        mScroller = new OverScroller(context);
+        mOverflingDistance = ViewConfiguration.get(context).getScaledOverflingDistance();
+        mFlingEdgeGlows = new FlingEdgeGlows(context, this, true);
+
+        setOnHierarchyChangeListener(this);
+        setScrollBarStyle(SCROLLBARS_OUTSIDE_OVERLAY);
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        if (!mScrollEnabled) {
+            return false;
+        }
+
+        mGestureClassifier.onTouchEvent(ev);
+        int action = ev.getAction();
+        if (action == MotionEvent.ACTION_DOWN) {
+            scrollView = getNestedScrollTarget();
+            isIntercept = false;
+            if (!mScroller.isFinished()) {
+                // Same as FixedScrollView: a finger-down catches our running fling as a drag,
+                // without the child under the finger seeing it
+                mScroller.abortAnimation();
+                if (mFlinging) {
+                    onMomentumEnd();
+                }
+                startDrag(ev);
+                return true;
+            }
+        }
+
+        // Same heuristics as FixedScrollView along the X axis, decided once the gesture is
+        // classified as horizontal past the touch slop
+        int direction = mGestureClassifier.getDirection();
+        if ((action == MotionEvent.ACTION_MOVE) || (action == MotionEvent.ACTION_UP)) {
+            if (scrollView != null && direction == GestureClassifier.DIRECTION_HORIZONTAL) {
+                float deltaX = mGestureClassifier.getDeltaX();
+                boolean isEnd = isAtEnd();
+                boolean isStart = isAtStart();
+                // Swipe towards the start: scroll the leading content away first
+                if (deltaX < 0) {
+                    isIntercept = !isEnd;
+                    return isIntercept;
+                }
+                // Swipe towards the end: bring the leading content back once the inner list is at its start
+                else if (deltaX > 0) {
+                    if (!isEnd && !isStart) {
+                        isIntercept = true;
+                    } else if (scrollView.getScrollX() == 0) {
+                        isIntercept = true;
+                    } else {
+                        isIntercept = !isStart;
+                    }
+                    return isIntercept;
+                }
+            }
+        }
+        if (action == MotionEvent.ACTION_MOVE
+                && (direction == GestureClassifier.DIRECTION_VERTICAL
+                || (direction == GestureClassifier.DIRECTION_UNDECIDED && mGestureClassifier.isPastTouchSlop()))) {
+            // Vertical and diagonal swipes are left to the vertical scroll views around and inside
+            return false;
+        }
+
+        if (super.onInterceptTouchEvent(ev)) {
+            startDrag(ev);
+            return true;
+        }
+        return false;
+    }
+
+    private void startDrag(MotionEvent ev) {
+        NativeGestureUtil.notifyNativeGestureStarted(this, ev);
+        ReactScrollViewHelper.emitScrollBeginDragEvent(this);
+        mDragging = true;
+        enableFpsListener();
+    }
+
+    /**
+     * Returns the inner HorizontalScrollView driven by this view, cached in the same way as
+     * {@link FixedScrollView}.
+     */
+    @Override
+    public @Nullable HorizontalScrollView getNestedScrollTarget() {
+        if (mNestedScrollTargetDirty) {
+            mNestedScrollTargetDirty = false;
+            if (mNestedScrollTarget == null
+                    || !isDescendant(mNestedScrollTarget)
+                    || (mNestedScrollTargetId != null
+                    && !mNestedScrollTargetId.equals(mNestedScrollTarget.getTag(R.id.view_tag_native_id)))) {
+                mNestedScrollTarget = resolveNestedScrollTarget();
+            }
+        }
+        return mNestedScrollTarget;
+    }
+
+    private @Nullable HorizontalScrollView resolveNestedScrollTarget() {
+        if (mNestedScrollTargetId != null) {
+            View target = ReactFindViewUtil.findView(this, mNestedScrollTargetId);
+            if (target instanceof HorizontalScrollView) {
+                return (HorizontalScrollView) target;
+            }
+        }
+        return findScrollView(this);
+    }
+
+    private boolean isDescendant(View view) {
+        ViewParent parent = view.getParent();
+        while (parent != null) {
+            if (parent == this) {
+                return true;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+
+    public void setNestedScrollTargetId(@Nullable String nestedScrollTargetId) {
+        mNestedScrollTargetId = nestedScrollTargetId;
+        mNestedScrollTarget = null;
+        mNestedScrollTargetDirty = true;
+    }
+
+    private HorizontalScrollView findScrollView(ViewGroup group) {
+        if (group != null) {
+            for (int i = 0, j = group.getChildCount(); i < j; i++) {
+                View child = group.getChildAt(i);
+                if (child instanceof HorizontalScrollView) {
+                    return (HorizontalScrollView) child;
+                } else if (child instanceof ViewGroup) {
+                    HorizontalScrollView result = findScrollView((ViewGroup) child);
+                    if (result != null)
+                        return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean isAtEnd() {
+        return getScrollX() >= getMaxScrollX();
+    }
+
+    public boolean isAtStart() {
+        return getScrollX() == 0;
+    }
+
+    public void setSendMomentumEvents(boolean sendMomentumEvents) {
+        mSendMomentumEvents = sendMomentumEvents;
+    }
+
+    public void setScrollPerfTag(String scrollPerfTag) {
+        mScrollPerfTag = scrollPerfTag;
+    }
+
+    public void setScrollEventThrottle(int scrollEventThrottle) {
+        mScrollEventThrottle.setThrottle(scrollEventThrottle);
+    }
+
+    public int getEmittedScrollEventCount() {
+        return mScrollEventThrottle.getEmittedCount();
+    }
+
+    public int getDroppedScrollEventCount() {
+        return mScrollEventThrottle.getDroppedCount();
+    }
+
+    public int getHorizontalGestureCount() {
+        return mGestureClassifier.getHorizontalGestureCount();
+    }
+
+    public void setScrollEnabled(boolean scrollEnabled) {
+        mScrollEnabled = scrollEnabled;
+    }
+
+    public void setMaxScrollWidth(int maxScrollWidth) {
+        mMaxScrollWidth = maxScrollWidth;
+        if (mContentView != null && getScrollX() > getMaxScrollX()) {
+            scrollTo(getMaxScrollX(), getScrollY());
+        }
+    }
+
+    /**
+     * Scrolls to {@param x}, clamped to the scroll range and maxScrollWidth.
+     */
+    public void scrollToX(int x, boolean animated) {
+        x = Math.max(0, Math.min(x, getMaxScrollX()));
+        if (animated) {
+            smoothScrollTo(x, getScrollY());
+        } else {
+            scrollTo(x, getScrollY());
+        }
+    }
+
+    @Override
+    public boolean isHorizontal() {
+        return true;
+    }
+
+    @Override
+    public int getScrollOffset() {
+        return getScrollX();
+    }
+
+    @Override
+    public int getMaxScrollOffset() {
+        return getMaxScrollX();
+    }
+
+    @Override
+    public void scrollToOffset(int offset, boolean animated) {
+        scrollToX(offset, animated);
+    }
+
+    @Override
+    public void collapseHeader(boolean animated) {
+        scrollToX(getMaxScrollX(), animated);
+    }
+
+    @Override
+    public void expandHeader(boolean animated) {
+        scrollToX(0, animated);
+    }
+
+    public void flashScrollIndicators() {
+        awakenScrollBars();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        MeasureSpecAssertions.assertExplicitMeasureSpec(widthMeasureSpec, heightMeasureSpec);
+
+        setMeasuredDimension(
+                MeasureSpec.getSize(widthMeasureSpec),
+                MeasureSpec.getSize(heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        // Call with the present values in order to re-layout if necessary
+        scrollTo(getScrollX(), getScrollY());
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (mRemoveClippedSubviews) {
+            updateClippingRect();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnGlobalLayoutListener(this);
+        mNestedScrollTargetDirty = true;
+        if (mRemoveClippedSubviews) {
+            updateClippingRect();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnGlobalLayoutListener(this);
+        mScrollEventThrottle.cancel();
+        mGestureClassifier.recycle();
+        if (mFlinging) {
+            // computeScroll is not called any more once detached
+            mScroller.abortAnimation();
+            onMomentumEnd();
+        }
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public void onGlobalLayout() {
+        mNestedScrollTargetDirty = true;
+    }
+
+    @Override
+    protected void onScrollChanged(int x, int y, int oldX, int oldY) {
+        super.onScrollChanged(x, y, oldX, oldY);
+
+        if (mOnScrollDispatchHelper.onScrollChanged(x, y)) {
+            if (mRemoveClippedSubviews) {
+                updateClippingRect();
+            }
+
+            mScrollEventThrottle.dispatch(
+                    mOnScrollDispatchHelper.getXFlingVelocity(),
+                    mOnScrollDispatchHelper.getYFlingVelocity());
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        if (!mScrollEnabled) {
+            return false;
+        }
+
+        mGestureClassifier.onTouchEvent(ev);
+        int action = ev.getAction() & MotionEvent.ACTION_MASK;
+        if (action == MotionEvent.ACTION_UP && mDragging) {
+            ReactScrollViewHelper.emitScrollEndDragEvent(
+                    this,
+                    mGestureClassifier.getXVelocity(),
+                    mGestureClassifier.getYVelocity());
+            mDragging = false;
+            disableFpsListener();
+        }
+
+        return super.onTouchEvent(ev);
+    }
+
+    @Override
+    public void scrollTo(int x, int y) {
+        if (mMaxScrollWidth > 0 && mContentView != null) {
+            x = Math.min(x, getMaxScrollX());
+        }
+        super.scrollTo(x, y);
+    }
+
+    @Override
+    public void setRemoveClippedSubviews(boolean removeClippedSubviews) {
+        if (removeClippedSubviews && mClippingRect == null) {
+            mClippingRect = new Rect();
+        }
+        mRemoveClippedSubviews = removeClippedSubviews;
+        updateClippingRect();
+    }
+
+    @Override
+    public boolean getRemoveClippedSubviews() {
+        return mRemoveClippedSubviews;
+    }
+
+    @Override
+    public void updateClippingRect() {
+        if (!mRemoveClippedSubviews) {
+            return;
+        }
+
+        Assertions.assertNotNull(mClippingRect);
+
+        ReactClippingViewGroupHelper.calculateClippingRect(this, mClippingRect);
+        View contentView = getChildAt(0);
+        if (contentView instanceof ReactClippingViewGroup) {
+            ((ReactClippingViewGroup) contentView).updateClippingRect();
+        }
+    }
+
+    @Override
+    public void getClippingRect(Rect outClippingRect) {
+        outClippingRect.set(Assertions.assertNotNull(mClippingRect));
+    }
+
+    @Override
+    public void fling(int velocityX) {
+        // FB SCROLLVIEW CHANGE
+
+        // Same bounce-back fix as FixedScrollView#fling(), along the X axis. See #onOverScrolled()
+        // for the second part of this change.
+
+        int scrollWindowWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+
+        mScroller.fling(
+                getScrollX(),
+                getScrollY(),
+                velocityX,
+                0,
+                0,
+                Integer.MAX_VALUE,
+                0,
+                0,
+                scrollWindowWidth / 2,
+                0);
+
+        postInvalidateOnAnimation();
+
+        // END FB SCROLLVIEW CHANGE
+
+        boolean sendMomentumEvents = mSendMomentumEvents || isScrollPerfLoggingEnabled();
+        if (sendMomentumEvents) {
+            if (!mFlinging) {
+                mFlinging = true;
+                mFlingSendsMomentumEvents = true;
+                enableFpsListener();
+                ReactScrollViewHelper.emitScrollMomentumBeginEvent(this);
+            }
+            if (mScroller.isFinished()) {
+                onMomentumEnd();
+            }
+        }
+    }
+
+    /**
+     * Drives our own fling scroller as FixedScrollView#computeScroll() does, along the X axis, and
+     * ends the momentum on the frame it stops.
+     */
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            int oldX = getScrollX();
+            int oldY = getScrollY();
+            int x = mScroller.getCurrX();
+            if (oldX != x) {
+                int range = getMaxScrollX();
+                overScrollBy(x - oldX, 0, oldX, oldY, range, 0, mOverflingDistance, 0, false);
+                if (x < 0 && oldX >= 0 && mFlingEdgeGlows.canOverscroll(range)) {
+                    mFlingEdgeGlows.absorbStart((int) mScroller.getCurrVelocity());
+                }
+            }
+            if (mScroller.isFinished()) {
+                if (mFlinging) {
+                    onMomentumEnd();
+                }
+            } else {
+                postInvalidateOnAnimation();
+            }
+        } else {
+            super.computeScroll();
+            if (mFlinging) {
+                // Aborted by a finger-down
+                onMomentumEnd();
+            }
+        }
+    }
+
+    private void onMomentumEnd() {
+        mFlinging = false;
+        if (mFlingSendsMomentumEvents) {
+            disableFpsListener();
+            ReactScrollViewHelper.emitScrollMomentumEndEvent(this);
+        }
+    }
+
+    private void enableFpsListener() {
+        if (isScrollPerfLoggingEnabled()) {
+            Assertions.assertNotNull(mFpsListener);
+            Assertions.assertNotNull(mScrollPerfTag);
+            mFpsListener.enable(mScrollPerfTag);
+        }
+    }
+
+    private void disableFpsListener() {
+        if (isScrollPerfLoggingEnabled()) {
+            Assertions.assertNotNull(mFpsListener);
+            Assertions.assertNotNull(mScrollPerfTag);
+            mFpsListener.disable(mScrollPerfTag);
+        }
+    }
+
+    private boolean isScrollPerfLoggingEnabled() {
+        return mFpsListener != null && mScrollPerfTag != null && !mScrollPerfTag.isEmpty();
+    }
+
+    /**
+     * Max scroll position, limited to {@code mMaxScrollWidth} when it is set.
+     */
+    public int getMaxScrollX() {
+        if (mContentView == null) {
+            return 0;
+        }
+        int contentWidth = mContentView.getWidth();
+        int viewportWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        int maxScrollX = Math.max(0, contentWidth - viewportWidth);
+        if (mMaxScrollWidth > 0) {
+            maxScrollX = Math.min(maxScrollX, mMaxScrollWidth);
+        }
+        return maxScrollX;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        if (mEndFillColor != Color.TRANSPARENT) {
+            final View content = getChildAt(0);
+            if (mEndBackground != null && content != null && content.getRight() < getWidth()) {
+                mEndBackground.setBounds(content.getRight(), 0, getWidth(), getHeight());
+                mEndBackground.draw(canvas);
+            }
+        }
+        super.draw(canvas);
+        mFlingEdgeGlows.draw(canvas, getMaxScrollX());
+    }
+
+    public void setEndFillColor(int color) {
+        if (color != mEndFillColor) {
+            mEndFillColor = color;
+            if (mEndBackground == null) {
+                mEndBackground = new ColorDrawable(mEndFillColor);
+            } else {
+                mEndBackground.setColor(mEndFillColor);
+            }
+        }
+    }
+
+    @Override
+    protected void onOverScrolled(int scrollX, int scrollY, boolean clampedX, boolean clampedY) {
+        // FB SCROLLVIEW CHANGE
+
+        // This is part two of the reimplementation of fling to fix the bounce-back bug. See #fling() for
+        // more information.
+
+        if (!mScroller.isFinished() && mScroller.getCurrX() != mScroller.getFinalX()) {
+            int scrollRange = getMaxScrollX();
+            if (scrollX >= scrollRange) {
+                // Hand the momentum that is left over to the inner HorizontalScrollView
+                int velocity = (int) mScroller.getCurrVelocity();
+                mScroller.abortAnimation();
+                scrollX = scrollRange;
+                HorizontalScrollView target = getNestedScrollTarget();
+                if (target != null && velocity > 0) {
+                    target.fling(velocity);
+                } else if (velocity > 0 && mFlingEdgeGlows.canOverscroll(scrollRange)) {
+                    mFlingEdgeGlows.absorbEnd(velocity);
+                }
+            }
+        }
+
+        // END FB SCROLLVIEW CHANGE
+
+        if (mMaxScrollWidth > 0 && mContentView != null) {
+            int maxScrollX = getMaxScrollX();
+            if (scrollX > maxScrollX) {
+                if (!mScroller.isFinished()) {
+                    mScroller.abortAnimation();
+                }
+                scrollX = maxScrollX;
+                clampedX = true;
+            }
+        }
+
+        super.onOverScrolled(scrollX, scrollY, clampedX, clampedY);
+    }
+
+    @Override
+    public void onChildViewAdded(View parent, View child) {
+        mContentView = child;
+        mContentView.addOnLayoutChangeListener(this);
+        mNestedScrollTargetDirty = true;
+    }
+
+    @Override
+    public void onChildViewRemoved(View parent, View child) {
+        mContentView.removeOnLayoutChangeListener(this);
+        mContentView = null;
+        mNestedScrollTarget = null;
+        mNestedScrollTargetDirty = true;
+    }
+
+    /**
+     * Called when a mContentView's layout has changed. Fixes the scroll position if it's too large
+     * after the content resizes.
+     */
+    @Override
+    public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
+        if (mContentView == null) {
+            return;
+        }
+
+        int currentScrollX = getScrollX();
+        int maxScrollX = getMaxScrollX();
+        if (currentScrollX > maxScrollX) {
+            scrollTo(maxScrollX, getScrollY());
+        }
+    }
+
+    @Override
+    public void setBackgroundColor(int color) {
+        mReactBackgroundManager.setBackgroundColor(color);
+    }
+
+    public void setBorderWidth(int position, float width) {
+        mReactBackgroundManager.setBorderWidth(position, width);
+    }
+
+    public void setBorderColor(int position, float color, float alpha) {
+        mReactBackgroundManager.setBorderColor(position, color, alpha);
+    }
+
+    public void setBorderRadius(float borderRadius) {
+        mReactBackgroundManager.setBorderRadius(borderRadius);
+    }
+
+    public void setBorderRadius(float borderRadius, int position) {
+        mReactBackgroundManager.setBorderRadius(borderRadius, position);
+    }
+
+    public void setBorderStyle(@Nullable String style) {
+        mReactBackgroundManager.setBorderStyle(style);
+    }
+}
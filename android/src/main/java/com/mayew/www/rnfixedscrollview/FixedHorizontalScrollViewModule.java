@@ -0,0 +1,226 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.graphics.Color;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.ReactClippingViewGroupHelper;
+import com.facebook.react.uimanager.Spacing;
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.ViewGroupManager;
+import com.facebook.react.uimanager.ViewProps;
+import com.facebook.react.uimanager.annotations.ReactProp;
+import com.facebook.react.uimanager.annotations.ReactPropGroup;
+import com.facebook.react.views.scroll.FpsListener;
+import com.facebook.react.views.scroll.ReactScrollViewCommandHelper;
+import com.facebook.react.views.scroll.ReactScrollViewHelper;
+import com.facebook.yoga.YogaConstants;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * View manager for {@link FixedHorizontalScrollView}.
+ */
+@ReactModule(name = FixedHorizontalScrollViewModule.REACT_CLASS)
+public class FixedHorizontalScrollViewModule
+        extends ViewGroupManager<FixedHorizontalScrollView>
+        implements ReactScrollViewCommandHelper.ScrollCommandHandler<FixedHorizontalScrollView> {
+    protected static final String REACT_CLASS = "FixedHorizontalScrollView";
+
+    private static final int[] SPACING_TYPES = {
+            Spacing.ALL, Spacing.LEFT, Spacing.RIGHT, Spacing.TOP, Spacing.BOTTOM,
+    };
+
+    private @Nullable
+    FpsListener mFpsListener = null;
+
+    public FixedHorizontalScrollViewModule() {
+        this(null);
+    }
+
+    public FixedHorizontalScrollViewModule(@Nullable FpsListener fpsListener) {
+        mFpsListener = fpsListener;
+    }
+
+    @Override
+    public String getName() {
+        return REACT_CLASS;
+    }
+
+    @Override
+    public FixedHorizontalScrollView createViewInstance(ThemedReactContext context) {
+        return new FixedHorizontalScrollView(context, mFpsListener);
+    }
+
+    @ReactProp(name = "scrollEnabled", defaultBoolean = true)
+    public void setScrollEnabled(FixedHorizontalScrollView view, boolean value) {
+        view.setScrollEnabled(value);
+    }
+
+    @ReactProp(name = "showsHorizontalScrollIndicator")
+    public void setShowsHorizontalScrollIndicator(FixedHorizontalScrollView view, boolean value) {
+        view.setHorizontalScrollBarEnabled(value);
+    }
+
+    @ReactProp(name = ReactClippingViewGroupHelper.PROP_REMOVE_CLIPPED_SUBVIEWS)
+    public void setRemoveClippedSubviews(FixedHorizontalScrollView view, boolean removeClippedSubviews) {
+        view.setRemoveClippedSubviews(removeClippedSubviews);
+    }
+
+    /**
+     * See {@link FixedScrollViewModule#setSendMomentumEvents}.
+     * @param view
+     * @param sendMomentumEvents
+     */
+    @ReactProp(name = "sendMomentumEvents")
+    public void setSendMomentumEvents(FixedHorizontalScrollView view, boolean sendMomentumEvents) {
+        view.setSendMomentumEvents(sendMomentumEvents);
+    }
+
+    @ReactProp(name = "scrollPerfTag")
+    public void setScrollPerfTag(FixedHorizontalScrollView view, String scrollPerfTag) {
+        view.setScrollPerfTag(scrollPerfTag);
+    }
+
+    @ReactProp(name = "endFillColor", defaultInt = Color.TRANSPARENT, customType = "Color")
+    public void setBottomFillColor(FixedHorizontalScrollView view, int color) {
+        view.setEndFillColor(color);
+    }
+
+    /**
+     * Width of the leading content that is scrolled away before the inner HorizontalScrollView
+     * takes over. Mirrors maxScrollHeight on the vertical view.
+     * @param view
+     * @param maxScrollWidth
+     */
+    @ReactProp(name = "maxScrollWidth")
+    public void setMaxScrollWidth(FixedHorizontalScrollView view, float maxScrollWidth) {
+        view.setMaxScrollWidth(Math.round(PixelUtil.toPixelFromDIP(maxScrollWidth)));
+    }
+
+    /**
+     * See {@link FixedScrollViewModule#setScrollEventThrottle}.
+     * @param view
+     * @param scrollEventThrottle
+     */
+    @ReactProp(name = "scrollEventThrottle")
+    public void setScrollEventThrottle(FixedHorizontalScrollView view, int scrollEventThrottle) {
+        view.setScrollEventThrottle(scrollEventThrottle);
+    }
+
+    @ReactProp(name = "nestedScrollTargetId")
+    public void setNestedScrollTargetId(FixedHorizontalScrollView view, @Nullable String nestedScrollTargetId) {
+        view.setNestedScrollTargetId(nestedScrollTargetId);
+    }
+
+    @ReactProp(name = "overScrollMode")
+    public void setOverScrollMode(FixedHorizontalScrollView view, String value) {
+        view.setOverScrollMode(ReactScrollViewHelper.parseOverScrollMode(value));
+    }
+
+    @Override
+    public @Nullable
+    Map<String, Integer> getCommandsMap() {
+        return FixedScrollCommandHelper.getCommandsMap();
+    }
+
+    /**
+     * Same commands as {@link FixedScrollViewModule#receiveCommand}, run by
+     * {@link FixedScrollCommandHelper} along the X axis: the header is the leading content limited
+     * by maxScrollWidth, and offsets are read from {@code x}.
+     */
+    @Override
+    public void receiveCommand(
+            FixedHorizontalScrollView scrollView,
+            int commandId,
+            @Nullable ReadableArray args) {
+        if (!FixedScrollCommandHelper.receiveCommand(scrollView, commandId, args)) {
+            ReactScrollViewCommandHelper.receiveCommand(this, scrollView, commandId, args);
+        }
+    }
+
+    @Override
+    public void flashScrollIndicators(FixedHorizontalScrollView scrollView) {
+        scrollView.flashScrollIndicators();
+    }
+
+    @Override
+    public void scrollTo(
+            FixedHorizontalScrollView scrollView, ReactScrollViewCommandHelper.ScrollToCommandData data) {
+        if (data.mAnimated) {
+            scrollView.smoothScrollTo(data.mDestX, data.mDestY);
+        } else {
+            scrollView.scrollTo(data.mDestX, data.mDestY);
+        }
+    }
+
+    @Override
+    public void scrollToEnd(
+            FixedHorizontalScrollView scrollView,
+            ReactScrollViewCommandHelper.ScrollToEndCommandData data) {
+        // HorizontalScrollView always has one child - the scrollable area
+        int right =
+                scrollView.getChildAt(0).getWidth() + scrollView.getPaddingRight();
+        if (data.mAnimated) {
+            scrollView.smoothScrollTo(right, scrollView.getScrollY());
+        } else {
+            scrollView.scrollTo(right, scrollView.getScrollY());
+        }
+    }
+
+    @ReactPropGroup(names = {
+            ViewProps.BORDER_RADIUS,
+            ViewProps.BORDER_TOP_LEFT_RADIUS,
+            ViewProps.BORDER_TOP_RIGHT_RADIUS,
+            ViewProps.BORDER_BOTTOM_RIGHT_RADIUS,
+            ViewProps.BORDER_BOTTOM_LEFT_RADIUS
+    }, defaultFloat = YogaConstants.UNDEFINED)
+    public void setBorderRadius(FixedHorizontalScrollView view, int index, float borderRadius) {
+        if (!YogaConstants.isUndefined(borderRadius)) {
+            borderRadius = PixelUtil.toPixelFromDIP(borderRadius);
+        }
+
+        if (index == 0) {
+            view.setBorderRadius(borderRadius);
+        } else {
+            view.setBorderRadius(borderRadius, index - 1);
+        }
+    }
+
+    @ReactProp(name = "borderStyle")
+    public void setBorderStyle(FixedHorizontalScrollView view, @Nullable String borderStyle) {
+        view.setBorderStyle(borderStyle);
+    }
+
+    @ReactPropGroup(names = {
+            ViewProps.BORDER_WIDTH,
+            ViewProps.BORDER_LEFT_WIDTH,
+            ViewProps.BORDER_RIGHT_WIDTH,
+            ViewProps.BORDER_TOP_WIDTH,
+            ViewProps.BORDER_BOTTOM_WIDTH,
+    }, defaultFloat = YogaConstants.UNDEFINED)
+    public void setBorderWidth(FixedHorizontalScrollView view, int index, float width) {
+        if (!YogaConstants.isUndefined(width)) {
+            width = PixelUtil.toPixelFromDIP(width);
+        }
+        view.setBorderWidth(SPACING_TYPES[index], width);
+    }
+
+    @ReactPropGroup(names = {
+            "borderColor", "borderLeftColor", "borderRightColor", "borderTopColor", "borderBottomColor"
+    }, customType = "Color")
+    public void setBorderColor(FixedHorizontalScrollView view, int index, Integer color) {
+        float rgbComponent =
+                color == null ? YogaConstants.UNDEFINED : (float) ((int)color & 0x00FFFFFF);
+        float alphaComponent = color == null ? YogaConstants.UNDEFINED : (float) ((int)color >>> 24);
+        view.setBorderColor(SPACING_TYPES[index], rgbComponent, alphaComponent);
+    }
+
+    @Override
+    public @Nullable Map getExportedCustomDirectEventTypeConstants() {
+        return FixedScrollViewModule.createExportedCustomDirectEventTypeConstants();
+    }
+}
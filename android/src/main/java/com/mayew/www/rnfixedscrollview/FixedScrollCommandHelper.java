@@ -0,0 +1,184 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.widget.FrameLayout;
+import android.widget.HorizontalScrollView;
+import android.widget.ScrollView;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.views.scroll.ReactScrollViewCommandHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * The header commands both view managers add to the stock ScrollView ones, run along the scroll
+ * axis of the view they are sent to.
+ */
+public class FixedScrollCommandHelper {
+    public static final int COMMAND_SCROLL_BY = 100;
+    public static final int COMMAND_COLLAPSE_HEADER = 101;
+    public static final int COMMAND_EXPAND_HEADER = 102;
+    public static final int COMMAND_BATCH = 103;
+
+    /** What the commands need from a view, along its own scroll axis. */
+    public interface HeaderScrollView {
+        boolean isHorizontal();
+
+        int getScrollOffset();
+
+        /** Max scroll position, limited to the header size when it is set. */
+        int getMaxScrollOffset();
+
+        /** Scrolls to {@param offset}, clamped to the scroll range. */
+        void scrollToOffset(int offset, boolean animated);
+
+        void collapseHeader(boolean animated);
+
+        void expandHeader(boolean animated);
+
+        /** The inner ScrollView, or HorizontalScrollView, the header hands the gesture to. */
+        @Nullable FrameLayout getNestedScrollTarget();
+    }
+
+    public static Map<String, Integer> getCommandsMap() {
+        Map<String, Integer> commands = new HashMap<>(ReactScrollViewCommandHelper.getCommandsMap());
+        commands.put("scrollBy", COMMAND_SCROLL_BY);
+        commands.put("collapseHeader", COMMAND_COLLAPSE_HEADER);
+        commands.put("expandHeader", COMMAND_EXPAND_HEADER);
+        commands.put("batch", COMMAND_BATCH);
+        return commands;
+    }
+
+    /**
+     * Runs one of the header commands, and returns false for any other command id so the caller
+     * can pass it on to {@link ReactScrollViewCommandHelper}. Commands sent without their
+     * arguments are ignored.
+     */
+    public static boolean receiveCommand(
+            HeaderScrollView view,
+            int commandId,
+            @Nullable ReadableArray args) {
+        switch (commandId) {
+            case COMMAND_SCROLL_BY:
+                if (args != null && args.size() > 2) {
+                    scrollBy(view, args.getDouble(0), args.getDouble(1), args.getBoolean(2));
+                }
+                return true;
+            case COMMAND_COLLAPSE_HEADER:
+                view.collapseHeader(args != null && args.size() > 0 && args.getBoolean(0));
+                return true;
+            case COMMAND_EXPAND_HEADER:
+                view.expandHeader(args != null && args.size() > 0 && args.getBoolean(0));
+                return true;
+            case COMMAND_BATCH:
+                if (args != null && args.size() > 0) {
+                    applyBatch(view, args.getArray(0));
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Scrolls by {@param y}, or by {@param x} on a horizontal view. The views only scroll along
+     * one axis, the other offset is ignored.
+     */
+    public static void scrollBy(HeaderScrollView view, double x, double y, boolean animated) {
+        int delta = Math.round(PixelUtil.toPixelFromDIP(view.isHorizontal() ? x : y));
+        view.scrollToOffset(view.getScrollOffset() + delta, animated);
+    }
+
+    /**
+     * Applies an ordered list of scroll operations in one UI-thread pass. Operations on the outer
+     * view are folded into a single target offset, so at most one scroll is performed (and one
+     * scroll event emitted) for the whole batch; operations with {@code inner: true} are applied
+     * to the inner ScrollView as they come, where only scrollTo, scrollBy and scrollToEnd make
+     * sense and the header types are skipped. Each operation is a map with a {@code type} of
+     * scrollTo, scrollBy, collapseHeader, expandHeader or scrollToEnd, and optional {@code y}
+     * ({@code x} on a horizontal view), {@code inner} and {@code animated} keys. The last outer
+     * operation decides whether the outer scroll is animated.
+     */
+    public static void applyBatch(HeaderScrollView view, ReadableArray operations) {
+        boolean horizontal = view.isHorizontal();
+        String offsetKey = horizontal ? "x" : "y";
+        int target = view.getScrollOffset();
+        boolean animated = false;
+        boolean moved = false;
+        for (int i = 0; i < operations.size(); i++) {
+            ReadableMap operation = operations.getMap(i);
+            String type = operation.getString("type");
+            int offset = operation.hasKey(offsetKey)
+                    ? Math.round(PixelUtil.toPixelFromDIP(operation.getDouble(offsetKey)))
+                    : 0;
+            boolean operationAnimated = operation.hasKey("animated") && operation.getBoolean("animated");
+
+            if (operation.hasKey("inner") && operation.getBoolean("inner")) {
+                FrameLayout inner = view.getNestedScrollTarget();
+                if (inner == null) {
+                    continue;
+                }
+                int innerOffset;
+                if ("scrollTo".equals(type)) {
+                    innerOffset = offset;
+                } else if ("scrollBy".equals(type)) {
+                    innerOffset = (horizontal ? inner.getScrollX() : inner.getScrollY()) + offset;
+                } else if ("scrollToEnd".equals(type)) {
+                    innerOffset = getScrollRange(inner, horizontal);
+                } else {
+                    continue;
+                }
+                scrollInnerTo(inner, horizontal, innerOffset, operationAnimated);
+                continue;
+            }
+
+            if ("scrollTo".equals(type)) {
+                target = offset;
+            } else if ("scrollBy".equals(type)) {
+                target += offset;
+            } else if ("collapseHeader".equals(type) || "scrollToEnd".equals(type)) {
+                target = view.getMaxScrollOffset();
+            } else if ("expandHeader".equals(type)) {
+                target = 0;
+            } else {
+                continue;
+            }
+            animated = operationAnimated;
+            moved = true;
+        }
+
+        if (moved) {
+            view.scrollToOffset(target, animated);
+        }
+    }
+
+    private static void scrollInnerTo(FrameLayout inner, boolean horizontal, int offset, boolean animated) {
+        int x = horizontal ? offset : inner.getScrollX();
+        int y = horizontal ? inner.getScrollY() : offset;
+        if (!animated) {
+            inner.scrollTo(x, y);
+        } else if (inner instanceof ScrollView) {
+            ((ScrollView) inner).smoothScrollTo(x, y);
+        } else if (inner instanceof HorizontalScrollView) {
+            ((HorizontalScrollView) inner).smoothScrollTo(x, y);
+        } else {
+            inner.scrollTo(x, y);
+        }
+    }
+
+    private static int getScrollRange(FrameLayout scrollView, boolean horizontal) {
+        if (scrollView.getChildCount() == 0) {
+            return 0;
+        }
+        if (horizontal) {
+            int viewportWidth = scrollView.getWidth() - scrollView.getPaddingLeft() - scrollView.getPaddingRight();
+            return Math.max(0, scrollView.getChildAt(0).getWidth() - viewportWidth);
+        }
+        int viewportHeight = scrollView.getHeight() - scrollView.getPaddingTop() - scrollView.getPaddingBottom();
+        return Math.max(0, scrollView.getChildAt(0).getHeight() - viewportHeight);
+    }
+}
@@ -2,46 +2,58 @@ package com.mayew.www.rnfixedscrollview;
 
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.PixelFormat;
 import android.graphics.Rect;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
-import android.util.Log;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
 import android.widget.OverScroller;
 import android.widget.ScrollView;
 
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.R;
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
-import com.facebook.react.common.ReactConstants;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.uimanager.MeasureSpecAssertions;
 import com.facebook.react.uimanager.ReactClippingViewGroup;
 import com.facebook.react.uimanager.ReactClippingViewGroupHelper;
+import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.NativeGestureUtil;
+import com.facebook.react.uimanager.util.ReactFindViewUtil;
 import com.facebook.react.views.scroll.FpsListener;
 import com.facebook.react.views.scroll.OnScrollDispatchHelper;
 import com.facebook.react.views.scroll.ReactScrollViewHelper;
-import com.facebook.react.views.scroll.VelocityHelper;
 import com.facebook.react.views.view.ReactViewBackgroundManager;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.annotation.Nullable;
 
 /**
  * Created by alex on 08/08/2018.
  */
-public class FixedScrollView extends ScrollView implements ReactClippingViewGroup, ViewGroup.OnHierarchyChangeListener, View.OnLayoutChangeListener {
-    private static Field sScrollerField;
-    private static boolean sTriedToGetScrollerField = false;
-
+public class FixedScrollView extends ScrollView implements ReactClippingViewGroup, ViewGroup.OnHierarchyChangeListener, View.OnLayoutChangeListener, ViewTreeObserver.OnGlobalLayoutListener, FixedScrollCommandHelper.HeaderScrollView {
     private final OnScrollDispatchHelper mOnScrollDispatchHelper = new OnScrollDispatchHelper();
     private final OverScroller mScroller;
-    private final VelocityHelper mVelocityHelper = new VelocityHelper();
+    private final int mOverflingDistance;
+    private final FlingEdgeGlows mFlingEdgeGlows;
+    private final GestureClassifier mGestureClassifier;
 
     private @Nullable Rect mClippingRect;
-    private boolean mDoneFlinging;
     private boolean mDragging;
     private boolean mFlinging;
     private boolean mRemoveClippedSubviews;
@@ -49,7 +61,8 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     private boolean mSendMomentumEvents;
     private @Nullable FpsListener mFpsListener = null;
     private @Nullable String mScrollPerfTag;
-    private @Nullable Drawable mEndBackground;
+    private @Nullable ScrollPerfMonitor mScrollPerfMonitor;
+    private @Nullable ColorDrawable mEndBackground;
     private int mEndFillColor = Color.TRANSPARENT;
     private View mContentView;
     private ReactViewBackgroundManager mReactBackgroundManager;
@@ -57,9 +70,116 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     private boolean isIntercept = false;
     private boolean isbottom = false;
     private boolean istop = true;
-    private float x1, x2, y1, y2;
     private ScrollView scrollView = null;
-    private static final int FLING_MIN_DISTANCE = 5;
+
+    public static final String NESTED_SCROLL_MODE_INTERCEPT = "intercept";
+    public static final String NESTED_SCROLL_MODE_NESTED = "nested";
+
+    private boolean mNestedScrollMode;
+
+    private boolean mFlingSendsMomentumEvents;
+
+    private boolean mIncrementalClipping;
+    private int mClippingOverscan;
+    private final ChildBoundsIndex mClippingIndex = new ChildBoundsIndex();
+    private int mAppliedClippingTop;
+    private int mAppliedClippingBottom;
+    private boolean mClippingApplied;
+    private int mClippingUpdateCount;
+
+    private int mLastContentHeight = -1;
+    private int mLastViewportHeight = -1;
+    private int mLastMaxScrollY = -1;
+    private int mLayoutScrollCorrectionCount;
+
+    private int mSnapInterval;
+    private @Nullable int[] mSnapOffsets;
+    private boolean mPagingEnabled;
+    private boolean mFlungOnTouchUp;
+    private final OverScroller mSnapScroller;
+
+    private @Nullable int[] mStickyHeaderIndices;
+    private boolean mStickyHeadersStacked;
+
+    private boolean mOverdrawOptimization;
+    private @Nullable Drawable mViewportBackground;
+    private long mPaintedPixels;
+
+    private @Nullable String mRestorationKey;
+    private @Nullable Map<String, Integer> mScrollOffsetCache;
+    private int mPendingRestoreScrollY = -1;
+
+    private @Nullable ScrollOffsetChannel mOffsetChannel;
+    private boolean mNativeAnimatedScroll;
+
+    private @Nullable int[] mHardwareLayerIndices;
+    private final List<View> mPromotedLayers = new ArrayList<>();
+    private boolean mLayersPromoted;
+    private int mLayerPromoteCount;
+    private int mLayerDemoteCount;
+
+    private @Nullable VisibleRangeTracker mVisibleRangeTracker;
+    private float mItemVisiblePercentThreshold;
+    private int mMinimumViewTime;
+    private int mVisibleItemsOverscan;
+    private final Runnable mVisibleItemsRunnable = new Runnable() {
+        @Override
+        public void run() {
+            emitVisibleItemsChanged();
+        }
+    };
+
+    private final OverScroller mHandoffScroller;
+    private @Nullable ScrollView mHandoffTarget;
+    private final Runnable mHandoffRunnable = new Runnable() {
+        @Override
+        public void run() {
+            continueInnerFlingHandoff();
+        }
+    };
+
+    private @Nullable String mNestedScrollTargetId;
+    private @Nullable ScrollView mNestedScrollTarget;
+    private boolean mNestedScrollTargetDirty = true;
+    private boolean mWaitingForNestedScrollTarget;
+    private int mNestedScrollTargetLookupCount;
+    private final ReactFindViewUtil.OnViewFoundListener mNestedScrollTargetFoundListener =
+            new ReactFindViewUtil.OnViewFoundListener() {
+                @Override
+                public String getNativeId() {
+                    return mNestedScrollTargetId;
+                }
+
+                @Override
+                public void onViewFound(View view) {
+                    // ReactFindViewUtil drops the listener once it has been called
+                    mWaitingForNestedScrollTarget = false;
+                    invalidateNestedScrollTarget();
+                }
+            };
+    private boolean mMultipleNestedScrollTargets;
+    private final List<ScrollView> mNestedScrollTargets = new ArrayList<>();
+    private final Map<ScrollView, Integer> mNestedScrollOffsets = new WeakHashMap<>();
+    private final Rect mVisibleRect = new Rect();
+    private int mNestedScrollTargetSwitchCount;
+
+    private int mMaxScrollHeight;
+    private boolean mAutoScroll;
+    private boolean mAutoScrollAnimated = true;
+    private int mAutoScrollThresholdUp;
+    private int mAutoScrollThresholdDown;
+    private int mAutoScrollStartY;
+
+    private final ScrollEventThrottle mScrollEventThrottle = new ScrollEventThrottle(this,
+            new ScrollEventThrottle.Emitter() {
+                @Override
+                public void emitScrollEvent(float xVelocity, float yVelocity) {
+                    if (mScrollPerfMonitor != null) {
+                        mScrollPerfMonitor.getMetrics().recordScrollEvent();
+                    }
+                    ReactScrollViewHelper.emitScrollEvent(FixedScrollView.this, xVelocity, yVelocity);
+                }
+            });
 
     public FixedScrollView(ReactContext context) {
         this(context, null);
@@ -69,38 +189,16 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
         super(context);
         mFpsListener = fpsListener;
         mReactBackgroundManager = new ReactViewBackgroundManager(this);
+        mHandoffScroller = new OverScroller(context);
+        mGestureClassifier = new GestureClassifier(ViewConfiguration.get(context).getScaledTouchSlop());
+        mSnapScroller = new OverScroller(context);
 
-        if (!sTriedToGetScrollerField) {
-            sTriedToGetScrollerField = true;
-            try {
-                sScrollerField = ScrollView.class.getDeclaredField("mScroller");
-                sScrollerField.setAccessible(true);
-            } catch (NoSuchFieldException e) {
-                Log.w(
-                        ReactConstants.TAG,
-                        "Failed to get mScroller field for ScrollView! " +
-                                "This app will exhibit the bounce-back scrolling bug :(");
-            }
-        }
-
-        if (sScrollerField != null) {
-            try {
-                Object scroller = sScrollerField.get(this);
-                if (scroller instanceof OverScroller) {
-                    mScroller = (OverScroller) scroller;
-                } else {
-                    Log.w(
-                            ReactConstants.TAG,
-                            "Failed to cast mScroller field in ScrollView (probably due to OEM changes to AOSP)! " +
-                                    "This app will exhibit the bounce-back scrolling bug :(");
-                    mScroller = null;
-                }
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("Failed to get mScroller from ScrollView!", e);
-            }
-        } else {
-            mScroller = null;
-        }
+        // We own the scroller used for flings instead of borrowing ScrollView's private one through
+        // reflection, so the bounce-back fix and the fling tuning behave the same on every build.
+        mScroller = new OverScroller(context);
+        mOverflingDistance = ViewConfiguration.get(context).getScaledOverflingDistance();
+        // ScrollView's glows are private, the ones absorbing our flings are drawn in #draw()
+        mFlingEdgeGlows = new FlingEdgeGlows(context, this, false);
 
         setOnHierarchyChangeListener(this);
         setScrollBarStyle(SCROLLBARS_OUTSIDE_OVERLAY);
@@ -108,38 +206,64 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
 
     @Override
     public boolean onInterceptTouchEvent(MotionEvent ev) {
+        if (mScrollPerfMonitor == null) {
+            return interceptTouchEvent(ev);
+        }
+        long start = System.nanoTime();
+        boolean intercepted = interceptTouchEvent(ev);
+        mScrollPerfMonitor.getMetrics().recordIntercept(System.nanoTime() - start);
+        return intercepted;
+    }
+
+    private boolean interceptTouchEvent(MotionEvent ev) {
         if (!mScrollEnabled) {
             return false;
         }
 
+        mGestureClassifier.onTouchEvent(ev);
         int action = ev.getAction();
         if (action == MotionEvent.ACTION_DOWN) {
             //当手指按下的时候
-            x1 = ev.getX();
-            y1 = ev.getY();
-            scrollView = findScrollView(this);
+            mAutoScrollStartY = getScrollY();
+            cancelInnerFlingHandoff();
+            scrollView = getNestedScrollTarget();
             isIntercept = false;
+            if (isNestedScrollModeEnabled() && scrollView != null) {
+                scrollView.setNestedScrollingEnabled(true);
+            }
+            if (!mScroller.isFinished()) {
+                // As ScrollView does for its own scroller, a finger-down on a running fling catches
+                // the content: the gesture is a drag from the start and the child under the
+                // finger never sees it, so stopping a fling does not click anything.
+                catchFling(ev);
+                return true;
+            }
+        }
+
+        if (isNestedScrollModeEnabled() && scrollView != null) {
+            // The inner ScrollView reports its deltas through the nested scrolling callbacks
+            // below, ScrollView only intercepts touches that do not belong to a nested scroll.
+            return interceptWithSuper(ev);
         }
 
+        int direction = mGestureClassifier.getDirection();
         if ((action == MotionEvent.ACTION_MOVE) || (action == MotionEvent.ACTION_UP)) {
-            if (scrollView != null) {
-                //当手指移动或者抬起的时候计算其值
-                x2 = ev.getX();
-                y2 = ev.getY();
+            if (scrollView != null && direction == GestureClassifier.DIRECTION_VERTICAL) {
+                float deltaY = mGestureClassifier.getDeltaY();
                 //是否到底部
                 isbottom = isAtBottom();
                 //是否到顶部
                 istop = isAtTop();
                 //向上滑动
-                if (y1 - y2 > FLING_MIN_DISTANCE ) {
+                if (deltaY < 0) {
                     if (!isbottom) {
                         isIntercept = true;
                     } else {
                         isIntercept = false;
                     }
-                    return isIntercept;
+                    return takeDragIfIntercepted(action);
                 } //向下滑动
-                else if (y2 - y1 > FLING_MIN_DISTANCE ) {
+                else if (deltaY > 0) {
                     int st = scrollView.getScrollY();
                     if (!isbottom && !istop) {
                         isIntercept = true;
@@ -154,21 +278,342 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
                             }
                         }
                     }
-                    return isIntercept;
+                    return takeDragIfIntercepted(action);
                 }
             }
         }
+        if (action == MotionEvent.ACTION_MOVE
+                && (direction == GestureClassifier.DIRECTION_HORIZONTAL
+                || (direction == GestureClassifier.DIRECTION_UNDECIDED && mGestureClassifier.isPastTouchSlop()))) {
+            // ScrollView would take any move past the touch slop, including diagonal and
+            // horizontal swipes meant for a carousel inside the content
+            return false;
+        }
         //不加的话 ReactScrollView滑动不了
+        return interceptWithSuper(ev);
+    }
+
+    public int getVerticalGestureCount() {
+        return mGestureClassifier.getVerticalGestureCount();
+    }
+
+    public int getHorizontalGestureCount() {
+        return mGestureClassifier.getHorizontalGestureCount();
+    }
+
+    /**
+     * The direction heuristics take the drag from the inner ScrollView without going through
+     * ScrollView's own intercept, the layers still have to be up before the first scrolled frame.
+     * An intercepted up ends the gesture right away, so nothing is promoted for it.
+     */
+    private boolean takeDragIfIntercepted(int action) {
+        if (isIntercept && action == MotionEvent.ACTION_MOVE) {
+            promoteLayers();
+        }
+        return isIntercept;
+    }
+
+    private boolean interceptWithSuper(MotionEvent ev) {
         if (super.onInterceptTouchEvent(ev)) {
-            NativeGestureUtil.notifyNativeGestureStarted(this, ev);
-            ReactScrollViewHelper.emitScrollBeginDragEvent(this);
+            startDrag(ev);
+            return true;
+        }
+        return false;
+    }
+
+    private void startDrag(MotionEvent ev) {
+        NativeGestureUtil.notifyNativeGestureStarted(this, ev);
+        ReactScrollViewHelper.emitScrollBeginDragEvent(this);
+        mDragging = true;
+        enableFpsListener();
+        promoteLayers();
+    }
+
+    /**
+     * Stops our fling under a finger-down and turns the gesture into a drag. The momentum ends
+     * before the drag begins, so JS sees the two sessions in order, and a half collapsed header is
+     * not settled while the finger is still on it.
+     */
+    private void catchFling(MotionEvent ev) {
+        mScroller.abortAnimation();
+        if (mFlinging) {
             mDragging = true;
-            enableFpsListener();
+            onMomentumEnd();
+        }
+        startDrag(ev);
+    }
+
+    public void setNestedScrollMode(@Nullable String nestedScrollMode) {
+        mNestedScrollMode = NESTED_SCROLL_MODE_NESTED.equals(nestedScrollMode);
+    }
+
+    /**
+     * Nested scrolling relies on the framework ScrollView callbacks, which are only available from
+     * Lollipop. Older devices keep using the intercept heuristics.
+     */
+    private boolean isNestedScrollModeEnabled() {
+        return mNestedScrollMode && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP;
+    }
+
+    /**
+     * Collapses the header with the inner ScrollView's deltas before it scrolls itself. Once the
+     * header reaches {@link #getMaxScrollY()} the rest of the same drag goes to the inner
+     * ScrollView. Expanding is handled by ScrollView#onNestedScroll, which receives whatever the
+     * inner ScrollView could not consume once it is back at its top.
+     */
+    @Override
+    public void onNestedPreScroll(View target, int dx, int dy, int[] consumed) {
+        if (isNestedScrollModeEnabled() && dy > 0) {
+            int delta = Math.min(dy, getMaxScrollY() - getScrollY());
+            if (delta > 0) {
+                scrollBy(0, delta);
+                consumed[1] = delta;
+            }
+        }
+    }
+
+    @Override
+    public boolean onNestedPreFling(View target, float velocityX, float velocityY) {
+        if (isNestedScrollModeEnabled() && velocityY > 0 && !isAtBottom()) {
+            fling((int) velocityY);
             return true;
         }
+        return super.onNestedPreFling(target, velocityX, velocityY);
+    }
+
+    /**
+     * When the inner ScrollView flings towards its top while the header is collapsed, we replay the
+     * same fling on {@code mHandoffScroller} so that we know the velocity it has left once it hits
+     * the top, and continue with that velocity by expanding the header. Only the nested mode needs
+     * this: the intercept heuristics take every downward drag for the header until it is fully
+     * expanded, so there the list never flings towards its top below a collapsed header.
+     */
+    @Override
+    public boolean onNestedFling(View target, float velocityX, float velocityY, boolean consumed) {
+        if (consumed && velocityY < 0 && getScrollY() > 0 && target instanceof ScrollView) {
+            ScrollView inner = (ScrollView) target;
+            View innerContent = inner.getChildAt(0);
+            int innerRange = innerContent == null ? 0 : Math.max(0,
+                    innerContent.getHeight() - (inner.getHeight() - inner.getPaddingBottom() - inner.getPaddingTop()));
+            mHandoffTarget = inner;
+            mHandoffScroller.fling(0, inner.getScrollY(), 0, (int) velocityY, 0, 0, 0, innerRange);
+            postOnAnimation(mHandoffRunnable);
+            return false;
+        }
+        return super.onNestedFling(target, velocityX, velocityY, consumed);
+    }
+
+    private void continueInnerFlingHandoff() {
+        if (mHandoffTarget == null || !mHandoffScroller.computeScrollOffset()) {
+            mHandoffTarget = null;
+            return;
+        }
+
+        if (mHandoffTarget.getScrollY() <= 0) {
+            int velocity = (int) mHandoffScroller.getCurrVelocity();
+            mHandoffScroller.abortAnimation();
+            mHandoffTarget = null;
+            if (velocity > 0 && getScrollY() > 0) {
+                fling(-velocity);
+            }
+            return;
+        }
+
+        postOnAnimation(mHandoffRunnable);
+    }
+
+    private void cancelInnerFlingHandoff() {
+        if (mHandoffTarget != null) {
+            removeCallbacks(mHandoffRunnable);
+            mHandoffScroller.abortAnimation();
+            mHandoffTarget = null;
+        }
+    }
+
+    /**
+     * Returns the inner ScrollView driven by this view. The result is cached and only looked up
+     * again after the hierarchy has changed and the cached target is no longer one of our
+     * descendants, or is not the one named by nestedScrollTargetId, so a finger-down does not walk
+     * the whole subtree. A named target that is not mounted yet is not looked for on every layout
+     * pass either: the first ScrollView stands in for it until ReactFindViewUtil reports a view
+     * with that nativeID.
+     */
+    @Override
+    public @Nullable ScrollView getNestedScrollTarget() {
+        if (mMultipleNestedScrollTargets) {
+            return getActiveNestedScrollTarget();
+        }
+        if (mNestedScrollTargetDirty) {
+            mNestedScrollTargetDirty = false;
+            if (needsNestedScrollTargetLookup()) {
+                mNestedScrollTarget = resolveNestedScrollTarget();
+            }
+        }
+        return mNestedScrollTarget;
+    }
+
+    private boolean needsNestedScrollTargetLookup() {
+        if (mNestedScrollTarget != null && !isDescendant(mNestedScrollTarget)) {
+            return true;
+        }
+        if (mWaitingForNestedScrollTarget) {
+            return false;
+        }
+        return mNestedScrollTarget == null
+                || (mNestedScrollTargetId != null && !hasNestedScrollTargetId(mNestedScrollTarget));
+    }
+
+    private @Nullable ScrollView resolveNestedScrollTarget() {
+        mNestedScrollTargetLookupCount++;
+        if (mNestedScrollTargetId != null) {
+            View target = ReactFindViewUtil.findView(this, mNestedScrollTargetId);
+            if (target instanceof ScrollView) {
+                stopWaitingForNestedScrollTarget();
+                return (ScrollView) target;
+            }
+            if (!mWaitingForNestedScrollTarget) {
+                mWaitingForNestedScrollTarget = true;
+                ReactFindViewUtil.addViewListener(mNestedScrollTargetFoundListener);
+            }
+        }
+        return findScrollView(this);
+    }
+
+    private void stopWaitingForNestedScrollTarget() {
+        if (mWaitingForNestedScrollTarget) {
+            mWaitingForNestedScrollTarget = false;
+            ReactFindViewUtil.removeViewListener(mNestedScrollTargetFoundListener);
+        }
+    }
+
+    private boolean hasNestedScrollTargetId(View view) {
+        return mNestedScrollTargetId != null
+                && mNestedScrollTargetId.equals(view.getTag(R.id.view_tag_native_id));
+    }
+
+    private boolean isDescendant(View view) {
+        ViewParent parent = view.getParent();
+        while (parent != null) {
+            if (parent == this) {
+                return true;
+            }
+            parent = parent.getParent();
+        }
         return false;
     }
 
+    private void invalidateNestedScrollTarget() {
+        mNestedScrollTargetDirty = true;
+    }
+
+    public void setNestedScrollTargetId(@Nullable String nestedScrollTargetId) {
+        stopWaitingForNestedScrollTarget();
+        mNestedScrollTargetId = nestedScrollTargetId;
+        if (mMultipleNestedScrollTargets) {
+            // Switching tabs from JS, the list offsets are synced right away
+            getActiveNestedScrollTarget();
+            return;
+        }
+        mNestedScrollTarget = null;
+        invalidateNestedScrollTarget();
+    }
+
+    /**
+     * Tracks every inner ScrollView instead of only the first one, e.g. the pages of a tab pager
+     * placed under the header. The active one is the one named by nestedScrollTargetId, or else the
+     * first one visible in the viewport.
+     */
+    public void setMultipleNestedScrollTargets(boolean multipleNestedScrollTargets) {
+        stopWaitingForNestedScrollTarget();
+        mMultipleNestedScrollTargets = multipleNestedScrollTargets;
+        mNestedScrollTargets.clear();
+        mNestedScrollOffsets.clear();
+        mNestedScrollTarget = null;
+        invalidateNestedScrollTarget();
+    }
+
+    /**
+     * Picks the active target among all inner ScrollViews. The list is only collected again after
+     * the hierarchy changed, but the pick itself runs on every call since a pager swipe moves its
+     * pages without any layout pass.
+     */
+    private @Nullable ScrollView getActiveNestedScrollTarget() {
+        if (mNestedScrollTargetDirty) {
+            mNestedScrollTargetDirty = false;
+            mNestedScrollTargetLookupCount++;
+            mNestedScrollTargets.clear();
+            collectScrollViews(this, mNestedScrollTargets);
+        }
+
+        ScrollView active = null;
+        for (int i = 0, count = mNestedScrollTargets.size(); i < count; i++) {
+            ScrollView target = mNestedScrollTargets.get(i);
+            if (mNestedScrollTargetId != null) {
+                if (hasNestedScrollTargetId(target)) {
+                    active = target;
+                    break;
+                }
+            } else if (target.isShown() && target.getGlobalVisibleRect(mVisibleRect)) {
+                active = target;
+                break;
+            }
+        }
+        if (active == null && !mNestedScrollTargets.isEmpty()) {
+            active = mNestedScrollTargets.get(0);
+        }
+
+        if (active != mNestedScrollTarget) {
+            ScrollView previous = mNestedScrollTarget;
+            mNestedScrollTarget = active;
+            if (active != null) {
+                onNestedScrollTargetChanged(previous, active);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Gives the newly shown list back the offset it had when it was last left, whether the header
+     * is collapsed or not, so switching tabs never loses a position. A list that was never left
+     * keeps its own offset.
+     */
+    private void onNestedScrollTargetChanged(@Nullable ScrollView previous, ScrollView next) {
+        mNestedScrollTargetSwitchCount++;
+        cancelInnerFlingHandoff();
+        if (previous != null) {
+            mNestedScrollOffsets.put(previous, previous.getScrollY());
+        }
+
+        Integer remembered = mNestedScrollOffsets.get(next);
+        if (remembered != null && next.getScrollY() != remembered) {
+            next.scrollTo(next.getScrollX(), remembered);
+        }
+    }
+
+    public List<ScrollView> getNestedScrollTargets() {
+        return mNestedScrollTargets;
+    }
+
+    public int getNestedScrollTargetSwitchCount() {
+        return mNestedScrollTargetSwitchCount;
+    }
+
+    /** Number of times the content was walked to find the nested scroll target(s). */
+    public int getNestedScrollTargetLookupCount() {
+        return mNestedScrollTargetLookupCount;
+    }
+
+    private static void collectScrollViews(ViewGroup group, List<ScrollView> result) {
+        for (int i = 0, j = group.getChildCount(); i < j; i++) {
+            View child = group.getChildAt(i);
+            if (child instanceof ScrollView) {
+                result.add((ScrollView) child);
+            } else if (child instanceof ViewGroup) {
+                collectScrollViews((ViewGroup) child, result);
+            }
+        }
+    }
+
     /**
      * 从当前页面中查找第一个ScrollView控件
      * @param group
@@ -191,7 +636,7 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     }
 
     public boolean isAtBottom() {
-        return getScrollY() == getChildAt(getChildCount() - 1).getBottom() + getPaddingBottom() - getHeight();
+        return getScrollY() >= getMaxScrollY();
     }
 
     public boolean isAtTop() {
@@ -203,13 +648,136 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     }
 
     public void setScrollPerfTag(String scrollPerfTag) {
+        if (mScrollPerfMonitor != null) {
+            mScrollPerfMonitor.stop();
+        }
         mScrollPerfTag = scrollPerfTag;
+        mScrollPerfMonitor = isScrollPerfLoggingEnabled()
+                ? new ScrollPerfMonitor(ScrollPerfMetrics.forTag(scrollPerfTag))
+                : null;
     }
 
     public void setScrollEnabled(boolean scrollEnabled) {
         mScrollEnabled = scrollEnabled;
     }
 
+    public void setMaxScrollHeight(int maxScrollHeight) {
+        mMaxScrollHeight = maxScrollHeight;
+        invalidateLayoutCache();
+        if (mContentView != null && getScrollY() > getMaxScrollY()) {
+            scrollTo(getScrollX(), getMaxScrollY());
+        }
+    }
+
+    public void setAutoScroll(boolean autoScroll) {
+        mAutoScroll = autoScroll;
+    }
+
+    public void setAutoScrollAnimated(boolean autoScrollAnimated) {
+        mAutoScrollAnimated = autoScrollAnimated;
+    }
+
+    public void setAutoScrollThresholdUp(int autoScrollThresholdUp) {
+        mAutoScrollThresholdUp = autoScrollThresholdUp;
+    }
+
+    public void setAutoScrollThresholdDown(int autoScrollThresholdDown) {
+        mAutoScrollThresholdDown = autoScrollThresholdDown;
+    }
+
+    /**
+     * Settles a header that was left half collapsed: moving up past {@code mAutoScrollThresholdUp}
+     * collapses it, moving down past {@code mAutoScrollThresholdDown} expands it, anything less
+     * returns to where the gesture started. Thresholds default to half of the scroll range.
+     */
+    private void autoScrollToEdge() {
+        int scrollY = getScrollY();
+        int targetY = getAutoScrollTarget(
+                scrollY, mAutoScrollStartY, getMaxScrollY(), mAutoScrollThresholdUp, mAutoScrollThresholdDown);
+        if (targetY == scrollY) {
+            return;
+        }
+
+        if (mAutoScrollAnimated) {
+            smoothScrollTo(getScrollX(), targetY);
+        } else {
+            scrollTo(getScrollX(), targetY);
+        }
+    }
+
+    /**
+     * Edge a header left at {@param scrollY} settles on, or {@param scrollY} itself when it is
+     * already fully collapsed or expanded.
+     */
+    @VisibleForTesting
+    static int getAutoScrollTarget(
+            int scrollY, int startY, int maxScrollY, int thresholdUp, int thresholdDown) {
+        if (scrollY <= 0 || scrollY >= maxScrollY) {
+            return scrollY;
+        }
+        if (scrollY >= startY) {
+            int threshold = thresholdUp > 0 ? thresholdUp : maxScrollY / 2;
+            return scrollY >= threshold ? maxScrollY : 0;
+        }
+        int threshold = thresholdDown > 0 ? thresholdDown : maxScrollY / 2;
+        return maxScrollY - scrollY >= threshold ? 0 : maxScrollY;
+    }
+
+    public void setScrollEventThrottle(int scrollEventThrottle) {
+        mScrollEventThrottle.setThrottle(scrollEventThrottle);
+    }
+
+    public int getEmittedScrollEventCount() {
+        return mScrollEventThrottle.getEmittedCount();
+    }
+
+    public int getDroppedScrollEventCount() {
+        return mScrollEventThrottle.getDroppedCount();
+    }
+
+    /**
+     * Scrolls to {@param y} clamped to the scroll range, which accounts for
+     * {@code maxScrollHeight} and padding.
+     */
+    public void scrollToY(int y, boolean animated) {
+        y = Math.max(0, Math.min(y, getMaxScrollY()));
+        if (animated) {
+            smoothScrollTo(getScrollX(), y);
+        } else {
+            scrollTo(getScrollX(), y);
+        }
+    }
+
+    @Override
+    public boolean isHorizontal() {
+        return false;
+    }
+
+    @Override
+    public int getScrollOffset() {
+        return getScrollY();
+    }
+
+    @Override
+    public int getMaxScrollOffset() {
+        return getMaxScrollY();
+    }
+
+    @Override
+    public void scrollToOffset(int offset, boolean animated) {
+        scrollToY(offset, animated);
+    }
+
+    @Override
+    public void collapseHeader(boolean animated) {
+        scrollToY(getMaxScrollY(), animated);
+    }
+
+    @Override
+    public void expandHeader(boolean animated) {
+        scrollToY(0, animated);
+    }
+
     public void flashScrollIndicators() {
         awakenScrollBars();
     }
@@ -225,8 +793,40 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
-        // Call with the present values in order to re-layout if necessary
-        scrollTo(getScrollX(), getScrollY());
+        restorePendingScrollPosition();
+        // Call with the present values in order to re-layout if necessary, but only when the
+        // viewport or the content actually changed size
+        if (updateLayoutCache()) {
+            mLayoutScrollCorrectionCount++;
+            scrollTo(getScrollX(), getScrollY());
+        }
+    }
+
+    /**
+     * Stores the content height, viewport height and max scroll position used by the last scroll
+     * correction, and returns whether any of them changed since.
+     */
+    private boolean updateLayoutCache() {
+        int contentHeight = mContentView == null ? 0 : mContentView.getHeight();
+        int viewportHeight = getHeight() - getPaddingBottom() - getPaddingTop();
+        int maxScrollY = getMaxScrollY();
+        if (contentHeight == mLastContentHeight
+                && viewportHeight == mLastViewportHeight
+                && maxScrollY == mLastMaxScrollY) {
+            return false;
+        }
+        mLastContentHeight = contentHeight;
+        mLastViewportHeight = viewportHeight;
+        mLastMaxScrollY = maxScrollY;
+        return true;
+    }
+
+    private void invalidateLayoutCache() {
+        mLastContentHeight = -1;
+    }
+
+    public int getLayoutScrollCorrectionCount() {
+        return mLayoutScrollCorrectionCount;
     }
 
     @Override
@@ -240,28 +840,84 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
+        getViewTreeObserver().addOnGlobalLayoutListener(this);
+        invalidateNestedScrollTarget();
         if (mRemoveClippedSubviews) {
             updateClippingRect();
         }
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        saveScrollPosition();
+        getViewTreeObserver().removeOnGlobalLayoutListener(this);
+        stopWaitingForNestedScrollTarget();
+        mScrollEventThrottle.cancel();
+        removeCallbacks(mVisibleItemsRunnable);
+        demoteLayers();
+        cancelInnerFlingHandoff();
+        mGestureClassifier.recycle();
+        if (mFlinging) {
+            // computeScroll is not called any more once detached
+            mScroller.abortAnimation();
+            onMomentumEnd();
+        }
+        if (mScrollPerfMonitor != null) {
+            mScrollPerfMonitor.stop();
+        }
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Views added or removed deep inside the content only show up as a layout pass, so we just mark
+     * the cached nested scroll target as stale here and re-validate it on the next finger-down,
+     * which only walks the content again if the cached target was removed.
+     */
+    @Override
+    public void onGlobalLayout() {
+        invalidateNestedScrollTarget();
+        mClippingIndex.invalidate();
+        updateStickyHeaders();
+        if (mVisibleRangeTracker != null) {
+            mVisibleRangeTracker.invalidate();
+            updateVisibleItems();
+        }
+    }
+
     @Override
     protected void onScrollChanged(int x, int y, int oldX, int oldY) {
         super.onScrollChanged(x, y, oldX, oldY);
 
         if (mOnScrollDispatchHelper.onScrollChanged(x, y)) {
             if (mRemoveClippedSubviews) {
-                updateClippingRect();
+                updateClippingRectOnScroll();
             }
 
-            if (mFlinging) {
-                mDoneFlinging = false;
+            updateStickyHeaders();
+            updateVisibleItems();
+
+            if (mOffsetChannel != null) {
+                // JS reads the offset from the channel, full events are only sent at drag and
+                // momentum boundaries
+                mOffsetChannel.write(
+                        x,
+                        y,
+                        mOnScrollDispatchHelper.getXFlingVelocity(),
+                        mOnScrollDispatchHelper.getYFlingVelocity());
             }
 
-            ReactScrollViewHelper.emitScrollEvent(
-                    this,
-                    mOnScrollDispatchHelper.getXFlingVelocity(),
-                    mOnScrollDispatchHelper.getYFlingVelocity());
+            if (mNativeAnimatedScroll) {
+                // NativeAnimatedModule listens on the EventDispatcher, so every frame has to be
+                // dispatched for native driven Animated.event mappings to follow the scroll.
+                // Events still reaching JS are coalesced per frame by the EventDispatcher.
+                mScrollEventThrottle.emitNow(
+                        mOnScrollDispatchHelper.getXFlingVelocity(),
+                        mOnScrollDispatchHelper.getYFlingVelocity());
+            } else if (mOffsetChannel == null) {
+                mScrollEventThrottle.dispatch(
+                        mOnScrollDispatchHelper.getXFlingVelocity(),
+                        mOnScrollDispatchHelper.getYFlingVelocity());
+            }
         }
     }
 
@@ -272,18 +928,48 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
             return false;
         }
 
-        mVelocityHelper.calculateVelocity(ev);
+        mGestureClassifier.onTouchEvent(ev);
         int action = ev.getAction() & MotionEvent.ACTION_MASK;
         if (action == MotionEvent.ACTION_UP && mDragging) {
             ReactScrollViewHelper.emitScrollEndDragEvent(
                     this,
-                    mVelocityHelper.getXVelocity(),
-                    mVelocityHelper.getYVelocity());
+                    mGestureClassifier.getXVelocity(),
+                    mGestureClassifier.getYVelocity());
             mDragging = false;
             disableFpsListener();
         }
 
-        return super.onTouchEvent(ev);
+        if (action == MotionEvent.ACTION_MOVE && mGestureClassifier.isPastTouchSlop()) {
+            // A drag that started on the content itself never went through onInterceptTouchEvent
+            promoteLayers();
+        }
+
+        boolean touchEnded = action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL;
+        if (touchEnded) {
+            mFlungOnTouchUp = false;
+        }
+        boolean handled = super.onTouchEvent(ev);
+        if (touchEnded && isSnapEnabled()) {
+            // A release too slow to fling still has to land on a snap position
+            if (!mFlungOnTouchUp) {
+                smoothScrollTo(getScrollX(), getSnapTarget(getScrollY(), getMaxScrollY()));
+            }
+        } else if (touchEnded && mAutoScroll && !mFlinging) {
+            autoScrollToEdge();
+        }
+        if (touchEnded && !mFlinging) {
+            // Released without a fling, otherwise the layers stay up until the momentum ends
+            demoteLayers();
+        }
+        return handled;
+    }
+
+    @Override
+    public void scrollTo(int x, int y) {
+        if (mMaxScrollHeight > 0 && mContentView != null) {
+            y = Math.min(y, getMaxScrollY());
+        }
+        super.scrollTo(x, y);
     }
 
     @Override
@@ -308,13 +994,68 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
 
         Assertions.assertNotNull(mClippingRect);
 
-        ReactClippingViewGroupHelper.calculateClippingRect(this, mClippingRect);
+        calculateClippingRect();
         View contentView = getChildAt(0);
         if (contentView instanceof ReactClippingViewGroup) {
             ((ReactClippingViewGroup) contentView).updateClippingRect();
+            mClippingUpdateCount++;
+            mAppliedClippingTop = mClippingRect.top;
+            mAppliedClippingBottom = mClippingRect.bottom;
+            mClippingApplied = true;
+        }
+    }
+
+    /**
+     * With incremental clipping, a scroll only forwards the clipping rect to the content when a
+     * child edge lies between the previously applied viewport edges and the new ones, or when a
+     * child with removeClippedSubviews of its own is in the viewport, as the content re-clips those
+     * as part of its pass. Otherwise no child changes visibility and the O(children) pass in the
+     * content view is skipped.
+     */
+    private void updateClippingRectOnScroll() {
+        if (!mIncrementalClipping || !mClippingApplied || !(mContentView instanceof ViewGroup)) {
+            updateClippingRect();
+            return;
+        }
+
+        if (mClippingIndex.isDirty()) {
+            mClippingIndex.rebuild((ViewGroup) mContentView);
+        }
+
+        Assertions.assertNotNull(mClippingRect);
+        calculateClippingRect();
+        if (mClippingIndex.hasEdgeBetween(mAppliedClippingTop, mClippingRect.top)
+                || mClippingIndex.hasEdgeBetween(mAppliedClippingBottom, mClippingRect.bottom)
+                || mClippingIndex.hasClippingChildIn(mClippingRect.top, mClippingRect.bottom)) {
+            ((ReactClippingViewGroup) mContentView).updateClippingRect();
+            mClippingUpdateCount++;
+            mAppliedClippingTop = mClippingRect.top;
+            mAppliedClippingBottom = mClippingRect.bottom;
+        }
+    }
+
+    private void calculateClippingRect() {
+        ReactClippingViewGroupHelper.calculateClippingRect(this, mClippingRect);
+        if (mClippingOverscan > 0) {
+            mClippingRect.top -= mClippingOverscan;
+            mClippingRect.bottom += mClippingOverscan;
         }
     }
 
+    public void setIncrementalClipping(boolean incrementalClipping) {
+        mIncrementalClipping = incrementalClipping;
+    }
+
+    /** Number of clipping passes forwarded to the content view. */
+    public int getClippingUpdateCount() {
+        return mClippingUpdateCount;
+    }
+
+    public void setClippingOverscan(int clippingOverscan) {
+        mClippingOverscan = clippingOverscan;
+        updateClippingRect();
+    }
+
     @Override
     public void getClippingRect(Rect outClippingRect) {
         outClippingRect.set(Assertions.assertNotNull(mClippingRect));
@@ -322,7 +1063,10 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
 
     @Override
     public void fling(int velocityY) {
-        if (mScroller != null) {
+        mFlungOnTouchUp = true;
+        if (isSnapEnabled()) {
+            flingAndSnap(velocityY);
+        } else {
             // FB SCROLLVIEW CHANGE
 
             // We provide our own version of fling that uses a different call to the standard OverScroller
@@ -348,93 +1092,679 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
             postInvalidateOnAnimation();
 
             // END FB SCROLLVIEW CHANGE
+        }
+
+        // As in ReactScrollView, an FpsListener logging this view gets the momentum events too
+        boolean sendMomentumEvents = mSendMomentumEvents || isFpsListenerEnabled();
+        if (sendMomentumEvents || mAutoScroll || mHardwareLayerIndices != null || mScrollPerfMonitor != null) {
+            // A fling restarted before the previous one settled keeps the same momentum session, so
+            // begin/end events stay paired.
+            if (!mFlinging) {
+                mFlinging = true;
+                promoteLayers();
+                mFlingSendsMomentumEvents = sendMomentumEvents;
+                enableFpsListener();
+                if (sendMomentumEvents) {
+                    ReactScrollViewHelper.emitScrollMomentumBeginEvent(this);
+                }
+                if (mScrollPerfMonitor != null) {
+                    mScrollPerfMonitor.onFlingStarted();
+                }
+            }
+            if (mScroller.isFinished()) {
+                // Nothing to animate, e.g. a snapping fling that is already on its target
+                onMomentumEnd();
+            }
+        }
+    }
+
+    /**
+     * Drives our own fling scroller. ScrollView's private scroller is still used for smooth scrolls
+     * and spring-backs, so it is left to super when no fling is running.
+     */
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            int oldX = getScrollX();
+            int oldY = getScrollY();
+            int y = mScroller.getCurrY();
+            if (oldY != y) {
+                // As in ScrollView, the scroller may overfling by half the viewport but the view
+                // itself only goes as far as the overfling distance past the edge.
+                int range = getMaxScrollY();
+                overScrollBy(0, y - oldY, oldX, oldY, 0, range, 0, mOverflingDistance, false);
+                if (y < 0 && oldY >= 0 && mFlingEdgeGlows.canOverscroll(range)) {
+                    mFlingEdgeGlows.absorbStart((int) mScroller.getCurrVelocity());
+                }
+            }
+            if (mScroller.isFinished()) {
+                // Last step of the fling, or aborted in onOverScrolled: the momentum ends on this
+                // very frame instead of being noticed by polling later.
+                if (mFlinging) {
+                    onMomentumEnd();
+                }
+            } else {
+                postInvalidateOnAnimation();
+            }
         } else {
-            super.fling(velocityY);
+            super.computeScroll();
+            if (mFlinging) {
+                // Aborted by a finger-down
+                onMomentumEnd();
+            }
         }
+    }
 
-        if (mSendMomentumEvents || isScrollPerfLoggingEnabled()) {
-            mFlinging = true;
-            enableFpsListener();
-            ReactScrollViewHelper.emitScrollMomentumBeginEvent(this);
-            Runnable r = new Runnable() {
-                @Override
-                public void run() {
-                    if (mDoneFlinging) {
-                        mFlinging = false;
-                        disableFpsListener();
-                        ReactScrollViewHelper.emitScrollMomentumEndEvent(FixedScrollView.this);
-                    } else {
-                        mDoneFlinging = true;
-                        FixedScrollView.this.postOnAnimationDelayed(this, ReactScrollViewHelper.MOMENTUM_DELAY);
-                    }
+    /**
+     * Same mapping as ReactScrollView: 0.985 (normal) and 0.9 (fast) on Android, where a lower rate
+     * means more friction and shorter flings.
+     */
+    public void setDecelerationRate(float decelerationRate) {
+        mScroller.setFriction(1.0f - decelerationRate);
+    }
+
+    public void setStickyHeaderIndices(@Nullable int[] stickyHeaderIndices) {
+        if (mStickyHeaderIndices != null && mContentView instanceof ViewGroup) {
+            for (int index : mStickyHeaderIndices) {
+                View header = ((ViewGroup) mContentView).getChildAt(index);
+                if (header != null) {
+                    header.setTranslationY(0);
                 }
-            };
-            postOnAnimationDelayed(r, ReactScrollViewHelper.MOMENTUM_DELAY);
+            }
+        }
+        mStickyHeaderIndices = stickyHeaderIndices;
+        updateStickyHeaders();
+    }
+
+    public void setStickyHeadersStacked(boolean stickyHeadersStacked) {
+        mStickyHeadersStacked = stickyHeadersStacked;
+        updateStickyHeaders();
+    }
+
+    /**
+     * Pins the sticky header children to the top of the viewport by translating them on the UI
+     * thread. By default the next sticky header pushes the current one off; when stacked, pinned
+     * headers stay and the following ones pin below them.
+     */
+    private void updateStickyHeaders() {
+        if (mStickyHeaderIndices == null || !(mContentView instanceof ViewGroup)) {
+            return;
+        }
+
+        ViewGroup content = (ViewGroup) mContentView;
+        int pinnedTop = getScrollY() - mContentView.getTop();
+        for (int i = 0; i < mStickyHeaderIndices.length; i++) {
+            View header = content.getChildAt(mStickyHeaderIndices[i]);
+            if (header == null) {
+                continue;
+            }
+
+            int top = header.getTop();
+            int translation = Math.max(0, pinnedTop - top);
+            if (mStickyHeadersStacked) {
+                if (translation > 0) {
+                    pinnedTop += header.getHeight();
+                }
+            } else if (i + 1 < mStickyHeaderIndices.length) {
+                View next = content.getChildAt(mStickyHeaderIndices[i + 1]);
+                if (next != null) {
+                    translation = Math.min(translation, Math.max(0, next.getTop() - header.getHeight() - top));
+                }
+            }
+
+            if (header.getTranslationY() != translation) {
+                header.setTranslationY(translation);
+            }
+        }
+    }
+
+    /**
+     * Offsets are kept per {@code restorationKey} in {@param scrollOffsetCache}, owned by the view
+     * manager, so a view recreated for the same screen starts where the previous one was.
+     */
+    public void setScrollOffsetCache(@Nullable Map<String, Integer> scrollOffsetCache) {
+        mScrollOffsetCache = scrollOffsetCache;
+    }
+
+    public void setRestorationKey(@Nullable String restorationKey) {
+        mRestorationKey = restorationKey;
+        if (restorationKey != null && mScrollOffsetCache != null) {
+            Integer scrollY = mScrollOffsetCache.get(restorationKey);
+            if (scrollY != null) {
+                mPendingRestoreScrollY = scrollY;
+            }
+        }
+    }
+
+    private void saveScrollPosition() {
+        if (mRestorationKey != null && mScrollOffsetCache != null && mPendingRestoreScrollY < 0) {
+            mScrollOffsetCache.put(mRestorationKey, getScrollY());
+        }
+    }
+
+    /**
+     * Applies a restored offset in the first layout where the content has a size, so the first
+     * frame is drawn at the restored position instead of jumping there afterwards.
+     */
+    private void restorePendingScrollPosition() {
+        if (mPendingRestoreScrollY < 0 || mContentView == null || mContentView.getHeight() == 0) {
+            return;
+        }
+        int scrollY = Math.min(mPendingRestoreScrollY, getMaxScrollY());
+        mPendingRestoreScrollY = -1;
+        scrollTo(getScrollX(), scrollY);
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        return new SavedState(super.onSaveInstanceState(), getScrollY());
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        mPendingRestoreScrollY = savedState.mScrollY;
+        restorePendingScrollPosition();
+    }
+
+    static class SavedState extends BaseSavedState {
+        final int mScrollY;
+
+        SavedState(Parcelable superState, int scrollY) {
+            super(superState);
+            mScrollY = scrollY;
+        }
+
+        SavedState(Parcel source) {
+            super(source);
+            mScrollY = source.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeInt(mScrollY);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel source) {
+                return new SavedState(source);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    public void setNativeAnimatedScroll(boolean nativeAnimatedScroll) {
+        mNativeAnimatedScroll = nativeAnimatedScroll;
+    }
+
+    /**
+     * Turns on native tracking of the viewable content children, reported with
+     * onVisibleItemsChanged instead of measuring children from onScroll in JS.
+     */
+    public void setVisibleItemsTracking(boolean visibleItemsTracking) {
+        if (visibleItemsTracking && mVisibleRangeTracker == null) {
+            mVisibleRangeTracker = new VisibleRangeTracker();
+            updateVisibleItems();
+        } else if (!visibleItemsTracking && mVisibleRangeTracker != null) {
+            removeCallbacks(mVisibleItemsRunnable);
+            mVisibleRangeTracker = null;
+        }
+    }
+
+    public void setItemVisiblePercentThreshold(float itemVisiblePercentThreshold) {
+        mItemVisiblePercentThreshold = itemVisiblePercentThreshold;
+        updateVisibleItems();
+    }
+
+    public void setMinimumViewTime(int minimumViewTime) {
+        mMinimumViewTime = minimumViewTime;
+    }
+
+    public void setVisibleItemsOverscan(int visibleItemsOverscan) {
+        mVisibleItemsOverscan = visibleItemsOverscan;
+        updateVisibleItems();
+    }
+
+    /**
+     * Recomputes the viewable children for the current offset. A change restarts the dwell time,
+     * so only a set that stayed put for minimumViewTime is reported, once.
+     */
+    private void updateVisibleItems() {
+        if (mVisibleRangeTracker == null || !(mContentView instanceof ViewGroup) || getHeight() == 0) {
+            return;
+        }
+        if (mVisibleRangeTracker.isDirty()) {
+            mVisibleRangeTracker.rebuild((ViewGroup) mContentView);
+        }
+
+        int top = getScrollY();
+        if (mVisibleRangeTracker.update(
+                top, top + getHeight(), mVisibleItemsOverscan, mItemVisiblePercentThreshold)) {
+            removeCallbacks(mVisibleItemsRunnable);
+            if (mMinimumViewTime > 0) {
+                postDelayed(mVisibleItemsRunnable, mMinimumViewTime);
+            } else {
+                emitVisibleItemsChanged();
+            }
+        }
+    }
+
+    private void emitVisibleItemsChanged() {
+        if (mVisibleRangeTracker == null || !mVisibleRangeTracker.hasChanges()) {
+            // Back to the set that was reported before the dwell time started
+            return;
+        }
+        WritableArray viewableItems = Arguments.createArray();
+        for (int i = 0, count = mVisibleRangeTracker.getViewableCount(); i < count; i++) {
+            viewableItems.pushInt(mVisibleRangeTracker.getViewableItem(i));
+        }
+        WritableArray nearItems = Arguments.createArray();
+        for (int i = 0, count = mVisibleRangeTracker.getNearCount(); i < count; i++) {
+            nearItems.pushInt(mVisibleRangeTracker.getNearItem(i));
+        }
+        WritableMap data = Arguments.createMap();
+        data.putArray("viewableItems", viewableItems);
+        data.putArray("nearItems", nearItems);
+        mVisibleRangeTracker.markEmitted();
+        ((ReactContext) getContext()).getNativeModule(UIManagerModule.class).getEventDispatcher()
+                .dispatchEvent(new VisibleItemsChangedEvent(getId(), data));
+    }
+
+    public void setOffsetChannelEnabled(boolean offsetChannelEnabled) {
+        if (offsetChannelEnabled && mOffsetChannel == null) {
+            mOffsetChannel = ScrollOffsetChannel.register(getId());
+            mOffsetChannel.write(getScrollX(), getScrollY(), 0, 0);
+        } else if (!offsetChannelEnabled && mOffsetChannel != null) {
+            ScrollOffsetChannel.unregister(getId());
+            mOffsetChannel = null;
+        }
+    }
+
+    public void setSnapInterval(int snapInterval) {
+        mSnapInterval = snapInterval;
+    }
+
+    public void setSnapOffsets(@Nullable int[] snapOffsets) {
+        mSnapOffsets = snapOffsets;
+    }
+
+    public void setPagingEnabled(boolean pagingEnabled) {
+        mPagingEnabled = pagingEnabled;
+    }
+
+    private boolean isSnapEnabled() {
+        return mPagingEnabled || mSnapInterval > 0 || mSnapOffsets != null;
+    }
+
+    /**
+     * Projects where a fling with {@param velocityY} would end, picks the snap position closest to
+     * it and animates there in a single scroller pass. The fling is given the target as both its
+     * min and max, so the OverScroller eases into it instead of flinging and then correcting.
+     */
+    private void flingAndSnap(int velocityY) {
+        int maxScrollY = getMaxScrollY();
+        mSnapScroller.fling(getScrollX(), getScrollY(), 0, velocityY, 0, 0, 0, maxScrollY);
+        int projectedY = mSnapScroller.getFinalY();
+        mSnapScroller.abortAnimation();
+
+        int targetY = getSnapTarget(projectedY, maxScrollY);
+        if (targetY == getScrollY()) {
+            return;
+        }
+        int scrollWindowHeight = getHeight() - getPaddingBottom() - getPaddingTop();
+        mScroller.fling(
+                getScrollX(),
+                getScrollY(),
+                0,
+                velocityY,
+                0,
+                0,
+                targetY,
+                targetY,
+                0,
+                targetY == 0 || targetY == maxScrollY ? scrollWindowHeight / 2 : 0);
+        postInvalidateOnAnimation();
+    }
+
+    /**
+     * Snap position closest to {@param y}: the nearest of {@code snapToOffsets} when set, otherwise
+     * the nearest multiple of {@code snapToInterval} (or of the viewport height with
+     * {@code pagingEnabled}), clamped to the scroll range.
+     */
+    @VisibleForTesting
+    int getSnapTarget(int y, int maxScrollY) {
+        int target = y;
+        if (mSnapOffsets != null && mSnapOffsets.length > 0) {
+            int best = mSnapOffsets[0];
+            for (int offset : mSnapOffsets) {
+                if (Math.abs(offset - y) < Math.abs(best - y)) {
+                    best = offset;
+                }
+            }
+            target = best;
+        } else {
+            int interval = mPagingEnabled
+                    ? getHeight() - getPaddingBottom() - getPaddingTop()
+                    : mSnapInterval;
+            if (interval > 0) {
+                int lower = (y / interval) * interval;
+                int upper = lower + interval;
+                target = y - lower < upper - y ? lower : upper;
+            }
+        }
+        return Math.max(0, Math.min(target, maxScrollY));
+    }
+
+    /**
+     * Called once our scroller has stopped. All flings run on the scroller we own, so unlike
+     * ReactScrollView there is no need to poll every MOMENTUM_DELAY for the offset to settle.
+     */
+    private void onMomentumEnd() {
+        mFlinging = false;
+        demoteLayers();
+        if (mScrollPerfMonitor != null) {
+            mScrollPerfMonitor.onFlingEnded();
+        }
+        disableFpsListener();
+        if (mFlingSendsMomentumEvents) {
+            ReactScrollViewHelper.emitScrollMomentumEndEvent(this);
+        }
+        if (mAutoScroll && !mDragging) {
+            autoScrollToEdge();
         }
     }
 
     private void enableFpsListener() {
         if (isScrollPerfLoggingEnabled()) {
-            Assertions.assertNotNull(mFpsListener);
             Assertions.assertNotNull(mScrollPerfTag);
-            mFpsListener.enable(mScrollPerfTag);
+            Assertions.assertNotNull(mScrollPerfMonitor).start();
+            if (mFpsListener != null) {
+                mFpsListener.enable(mScrollPerfTag);
+            }
         }
     }
 
     private void disableFpsListener() {
         if (isScrollPerfLoggingEnabled()) {
-            Assertions.assertNotNull(mFpsListener);
             Assertions.assertNotNull(mScrollPerfTag);
-            mFpsListener.disable(mScrollPerfTag);
+            Assertions.assertNotNull(mScrollPerfMonitor).stop();
+            if (mFpsListener != null) {
+                mFpsListener.disable(mScrollPerfTag);
+            }
         }
     }
 
+    /**
+     * Scroll perf is logged whenever a {@code scrollPerfTag} is set: frame, intercept, scroll event
+     * and fling metrics always go to {@link ScrollPerfMetrics}, and to the injected
+     * {@link FpsListener} too if there is one.
+     */
     private boolean isScrollPerfLoggingEnabled() {
-        return mFpsListener != null && mScrollPerfTag != null && !mScrollPerfTag.isEmpty();
+        return mScrollPerfTag != null && !mScrollPerfTag.isEmpty();
     }
 
-    private int getMaxScrollY() {
+    private boolean isFpsListenerEnabled() {
+        return mFpsListener != null && isScrollPerfLoggingEnabled();
+    }
+
+    /**
+     * Max scroll position, limited to {@code mMaxScrollHeight} (the collapsible header height) when
+     * it is set.
+     */
+    public int getMaxScrollY() {
+        if (mContentView == null) {
+            return 0;
+        }
         int contentHeight = mContentView.getHeight();
         int viewportHeight = getHeight() - getPaddingBottom() - getPaddingTop();
-        return Math.max(0, contentHeight - viewportHeight);
+        int maxScrollY = Math.max(0, contentHeight - viewportHeight);
+        if (mMaxScrollHeight > 0) {
+            maxScrollY = Math.min(maxScrollY, mMaxScrollHeight);
+        }
+        return maxScrollY;
     }
 
     @Override
     public void draw(Canvas canvas) {
+        mPaintedPixels = 0;
         if (mEndFillColor != Color.TRANSPARENT) {
             final View content = getChildAt(0);
             if (mEndBackground != null && content != null && content.getBottom() < getHeight()) {
                 mEndBackground.setBounds(0, content.getBottom(), getWidth(), getHeight());
                 mEndBackground.draw(canvas);
+                mPaintedPixels += (long) getWidth() * (getHeight() - content.getBottom());
             }
         }
+        if (mViewportBackground != null) {
+            drawViewportBackground(canvas, mViewportBackground);
+        }
         super.draw(canvas);
+        mFlingEdgeGlows.draw(canvas, getMaxScrollY());
+    }
+
+    /**
+     * Draws the background (and borders) only where the viewport is not covered by opaque
+     * content, i.e. the strips above and below the visible part of the content. The canvas is in
+     * content coordinates here, so the viewport starts at the scroll position.
+     */
+    private void drawViewportBackground(Canvas canvas, Drawable background) {
+        int left = getScrollX();
+        int top = getScrollY();
+        int right = left + getWidth();
+        int bottom = top + getHeight();
+        background.setBounds(left, top, right, bottom);
+
+        int coveredTop = bottom;
+        int coveredBottom = bottom;
+        if (isContentOpaque()
+                && mContentView.getLeft() <= left
+                && mContentView.getRight() >= right) {
+            coveredTop = Math.max(top, mContentView.getTop());
+            coveredBottom = Math.min(bottom, mContentView.getBottom());
+            if (coveredTop >= coveredBottom) {
+                coveredTop = bottom;
+                coveredBottom = bottom;
+            }
+        }
+
+        drawBackgroundStrip(canvas, background, left, top, right, coveredTop);
+        drawBackgroundStrip(canvas, background, left, coveredBottom, right, bottom);
+    }
+
+    private void drawBackgroundStrip(Canvas canvas, Drawable background, int left, int top, int right, int bottom) {
+        if (top >= bottom) {
+            return;
+        }
+        int saveCount = canvas.save();
+        canvas.clipRect(left, top, right, bottom);
+        background.draw(canvas);
+        canvas.restoreToCount(saveCount);
+        mPaintedPixels += (long) (right - left) * (bottom - top);
+    }
+
+    private boolean isContentOpaque() {
+        if (mContentView == null || mContentView.getAlpha() < 1f) {
+            return false;
+        }
+        Drawable contentBackground = mContentView.getBackground();
+        return contentBackground != null && contentBackground.getOpacity() == PixelFormat.OPAQUE;
+    }
+
+    /**
+     * Number of pixels painted by this view's own backgrounds (end fill and, with the overdraw
+     * optimization, the background) during the last frame. Children are not included.
+     */
+    public long getPaintedPixels() {
+        return mPaintedPixels;
+    }
+
+    /**
+     * With the overdraw optimization, the background set by {@link ReactViewBackgroundManager} is
+     * kept out of View's own background pass and drawn by {@link #draw(Canvas)} only where opaque
+     * content does not cover it.
+     */
+    public void setOverdrawOptimization(boolean overdrawOptimization) {
+        if (overdrawOptimization == mOverdrawOptimization) {
+            return;
+        }
+        if (overdrawOptimization) {
+            Drawable background = getBackground();
+            mOverdrawOptimization = true;
+            setBackgroundDrawable(background);
+        } else {
+            Drawable background = mViewportBackground;
+            mOverdrawOptimization = false;
+            mViewportBackground = null;
+            if (background != null) {
+                background.setCallback(null);
+            }
+            setBackgroundDrawable(background);
+        }
+    }
+
+    /**
+     * Content children, typically the header at index 0, that are drawn into a hardware layer while
+     * the view is dragged or flinging. The scroll then only moves the layers around instead of
+     * redrawing their subtrees every frame; a layer is only redrawn when something inside it
+     * invalidates. Children that already have a layer type set from JS are left alone.
+     */
+    public void setHardwareLayerIndices(@Nullable int[] hardwareLayerIndices) {
+        // Not every drag goes through ScrollView's intercept and sets mDragging
+        boolean scrolling = mLayersPromoted || mDragging || mFlinging;
+        demoteLayers();
+        mHardwareLayerIndices = hardwareLayerIndices != null && hardwareLayerIndices.length > 0
+                ? hardwareLayerIndices
+                : null;
+        if (mHardwareLayerIndices != null && scrolling) {
+            promoteLayers();
+        }
+    }
+
+    private void promoteLayers() {
+        if (mLayersPromoted || mHardwareLayerIndices == null || !(mContentView instanceof ViewGroup)) {
+            return;
+        }
+        mLayersPromoted = true;
+        ViewGroup content = (ViewGroup) mContentView;
+        int count = ChildBoundsIndex.getAllChildCount(content);
+        for (int index : mHardwareLayerIndices) {
+            if (index < 0 || index >= count) {
+                continue;
+            }
+            View child = ChildBoundsIndex.getChildAt(content, index);
+            if (child != null && child.getLayerType() == LAYER_TYPE_NONE) {
+                child.setLayerType(LAYER_TYPE_HARDWARE, null);
+                mPromotedLayers.add(child);
+                mLayerPromoteCount++;
+            }
+        }
+    }
+
+    private void demoteLayers() {
+        if (!mLayersPromoted) {
+            return;
+        }
+        mLayersPromoted = false;
+        // Demote exactly the views we promoted, even if the children changed in between
+        for (int i = 0, size = mPromotedLayers.size(); i < size; i++) {
+            mPromotedLayers.get(i).setLayerType(LAYER_TYPE_NONE, null);
+            mLayerDemoteCount++;
+        }
+        mPromotedLayers.clear();
+    }
+
+    public int getPromotedLayerCount() {
+        return mPromotedLayers.size();
+    }
+
+    public int getLayerPromoteCount() {
+        return mLayerPromoteCount;
+    }
+
+    public int getLayerDemoteCount() {
+        return mLayerDemoteCount;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setBackgroundDrawable(Drawable background) {
+        if (!mOverdrawOptimization) {
+            super.setBackgroundDrawable(background);
+            return;
+        }
+        if (mViewportBackground != null && mViewportBackground != background) {
+            mViewportBackground.setCallback(null);
+        }
+        mViewportBackground = background;
+        if (background != null) {
+            background.setCallback(this);
+        }
+        super.setBackgroundDrawable(null);
+        invalidate();
+    }
+
+    @Override
+    protected boolean verifyDrawable(Drawable who) {
+        return who == mViewportBackground || super.verifyDrawable(who);
     }
 
     public void setEndFillColor(int color) {
         if (color != mEndFillColor) {
             mEndFillColor = color;
-            mEndBackground = new ColorDrawable(mEndFillColor);
+            if (mEndBackground == null) {
+                mEndBackground = new ColorDrawable(mEndFillColor);
+            } else {
+                mEndBackground.setColor(mEndFillColor);
+            }
         }
     }
 
     @Override
     protected void onOverScrolled(int scrollX, int scrollY, boolean clampedX, boolean clampedY) {
-        if (mScroller != null) {
-            // FB SCROLLVIEW CHANGE
+        // FB SCROLLVIEW CHANGE
+
+        // This is part two of the reimplementation of fling to fix the bounce-back bug. See #fling() for
+        // more information.
+
+        if (!mScroller.isFinished() && mScroller.getCurrY() != mScroller.getFinalY()) {
+            int scrollRange = getMaxScrollY();
+            if (scrollY >= scrollRange) {
+                // Hand the momentum that is left over to the inner ScrollView instead of
+                // dropping it, so the list keeps moving once the header is collapsed.
+                int velocity = (int) mScroller.getCurrVelocity();
+                mScroller.abortAnimation();
+                scrollY = scrollRange;
+                ScrollView target = getNestedScrollTarget();
+                if (target != null && velocity > 0) {
+                    target.fling(velocity);
+                } else if (velocity > 0 && mFlingEdgeGlows.canOverscroll(scrollRange)) {
+                    mFlingEdgeGlows.absorbEnd(velocity);
+                }
+            }
+        }
 
-            // This is part two of the reimplementation of fling to fix the bounce-back bug. See #fling() for
-            // more information.
+        // END FB SCROLLVIEW CHANGE
 
-            if (!mScroller.isFinished() && mScroller.getCurrY() != mScroller.getFinalY()) {
-                int scrollRange = getMaxScrollY();
-                if (scrollY >= scrollRange) {
+        if (mMaxScrollHeight > 0 && mContentView != null) {
+            int maxScrollY = getMaxScrollY();
+            if (scrollY > maxScrollY) {
+                if (!mScroller.isFinished()) {
                     mScroller.abortAnimation();
-                    scrollY = scrollRange;
                 }
+                scrollY = maxScrollY;
+                clampedY = true;
             }
-
-            // END FB SCROLLVIEW CHANGE
         }
 
         super.onOverScrolled(scrollX, scrollY, clampedX, clampedY);
@@ -444,12 +1774,22 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
     public void onChildViewAdded(View parent, View child) {
         mContentView = child;
         mContentView.addOnLayoutChangeListener(this);
+        invalidateNestedScrollTarget();
+        mClippingIndex.invalidate();
+        mClippingApplied = false;
+        invalidateLayoutCache();
     }
 
     @Override
     public void onChildViewRemoved(View parent, View child) {
         mContentView.removeOnLayoutChangeListener(this);
         mContentView = null;
+        mNestedScrollTarget = null;
+        stopWaitingForNestedScrollTarget();
+        invalidateNestedScrollTarget();
+        mClippingIndex.invalidate();
+        mClippingApplied = false;
+        invalidateLayoutCache();
     }
 
     /**
@@ -462,10 +1802,15 @@ public class FixedScrollView extends ScrollView implements ReactClippingViewGrou
         if (mContentView == null) {
             return;
         }
+        restorePendingScrollPosition();
+        if (!updateLayoutCache()) {
+            return;
+        }
 
         int currentScrollY = getScrollY();
         int maxScrollY = getMaxScrollY();
         if (currentScrollY > maxScrollY) {
+            mLayoutScrollCorrectionCount++;
             scrollTo(getScrollX(), maxScrollY);
         }
     }
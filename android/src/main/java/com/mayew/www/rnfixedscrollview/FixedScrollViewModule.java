@@ -3,6 +3,7 @@ package com.mayew.www.rnfixedscrollview;
 import android.graphics.Color;
 
 import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.uimanager.PixelUtil;
@@ -19,6 +20,8 @@ import com.facebook.react.views.scroll.ReactScrollViewHelper;
 import com.facebook.react.views.scroll.ScrollEventType;
 import com.facebook.yoga.YogaConstants;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.annotation.Nullable;
@@ -39,6 +42,8 @@ public class FixedScrollViewModule
     private @Nullable
     FpsListener mFpsListener = null;
 
+    private final Map<String, Integer> mScrollOffsetCache = new HashMap<>();
+
     public FixedScrollViewModule() {
         this(null);
     }
@@ -54,7 +59,9 @@ public class FixedScrollViewModule
 
     @Override
     public FixedScrollView createViewInstance(ThemedReactContext context) {
-        return new FixedScrollView(context, mFpsListener);
+        FixedScrollView view = new FixedScrollView(context, mFpsListener);
+        view.setScrollOffsetCache(mScrollOffsetCache);
+        return view;
     }
 
     @ReactProp(name = "scrollEnabled", defaultBoolean = true)
@@ -72,6 +79,27 @@ public class FixedScrollViewModule
         view.setRemoveClippedSubviews(removeClippedSubviews);
     }
 
+    /**
+     * With removeClippedSubviews, only re-clip the content on scroll when a child crosses the
+     * viewport edges instead of re-checking every child on every scroll tick.
+     * @param view
+     * @param incrementalClipping
+     */
+    @ReactProp(name = "incrementalClipping")
+    public void setIncrementalClipping(FixedScrollView view, boolean incrementalClipping) {
+        view.setIncrementalClipping(incrementalClipping);
+    }
+
+    /**
+     * Extra band above and below the viewport in which children are kept attached.
+     * @param view
+     * @param clippingOverscan
+     */
+    @ReactProp(name = "clippingOverscan")
+    public void setClippingOverscan(FixedScrollView view, float clippingOverscan) {
+        view.setClippingOverscan(Math.round(PixelUtil.toPixelFromDIP(clippingOverscan)));
+    }
+
     /**
      * Computing momentum events is potentially expensive since we post a runnable on the UI thread
      * to see when it is done.  We only do that if {@param sendMomentumEvents} is set to true.  This
@@ -87,7 +115,8 @@ public class FixedScrollViewModule
 
     /**
      * Tag used for logging scroll performance on this scroll view. Will force momentum events to be
-     * turned on (see setSendMomentumEvents).
+     * turned on (see setSendMomentumEvents). Metrics can be read from JS through the
+     * FixedScrollViewPerf native module.
      *
      * @param view
      * @param scrollPerfTag
@@ -108,6 +137,286 @@ public class FixedScrollViewModule
         view.setEndFillColor(color);
     }
 
+    /**
+     * nativeID of the inner ScrollView that should receive the gesture once the header is
+     * collapsed. When unset, the first ScrollView found in the content is used.
+     * @param view
+     * @param nestedScrollTargetId
+     */
+    @ReactProp(name = "nestedScrollTargetId")
+    public void setNestedScrollTargetId(FixedScrollView view, @Nullable String nestedScrollTargetId) {
+        view.setNestedScrollTargetId(nestedScrollTargetId);
+    }
+
+    /**
+     * Tracks all inner ScrollViews, e.g. the pages of a tab pager, instead of the first one.
+     * The active page is picked by nestedScrollTargetId, or by visibility in the viewport, and
+     * each page's offset is remembered across tab switches.
+     * @param view
+     * @param multipleNestedScrollTargets
+     */
+    @ReactProp(name = "multipleNestedScrollTargets")
+    public void setMultipleNestedScrollTargets(FixedScrollView view, boolean multipleNestedScrollTargets) {
+        view.setMultipleNestedScrollTargets(multipleNestedScrollTargets);
+    }
+
+    /**
+     * Height of the collapsible header. Scrolling is clamped at this offset so the rest of the
+     * gesture is left to the inner ScrollView.
+     * @param view
+     * @param maxScrollHeight
+     */
+    @ReactProp(name = "maxScrollHeight")
+    public void setMaxScrollHeight(FixedScrollView view, float maxScrollHeight) {
+        view.setMaxScrollHeight(Math.round(PixelUtil.toPixelFromDIP(maxScrollHeight)));
+    }
+
+    /**
+     * When set, a header left half collapsed at the end of a drag or fling is settled natively to
+     * the collapsed or expanded position (see autoScrollThresholdUp / autoScrollThresholdDown).
+     * @param view
+     * @param autoScroll
+     */
+    @ReactProp(name = "autoScroll")
+    public void setAutoScroll(FixedScrollView view, boolean autoScroll) {
+        view.setAutoScroll(autoScroll);
+    }
+
+    @ReactProp(name = "autoScrollAnimated", defaultBoolean = true)
+    public void setAutoScrollAnimated(FixedScrollView view, boolean autoScrollAnimated) {
+        view.setAutoScrollAnimated(autoScrollAnimated);
+    }
+
+    @ReactProp(name = "autoScrollThresholdUp")
+    public void setAutoScrollThresholdUp(FixedScrollView view, float threshold) {
+        view.setAutoScrollThresholdUp(Math.round(PixelUtil.toPixelFromDIP(threshold)));
+    }
+
+    @ReactProp(name = "autoScrollThresholdDown")
+    public void setAutoScrollThresholdDown(FixedScrollView view, float threshold) {
+        view.setAutoScrollThresholdDown(Math.round(PixelUtil.toPixelFromDIP(threshold)));
+    }
+
+    /**
+     * Minimum interval in ms between two onScroll events. Events inside the window are coalesced
+     * natively, keeping only the latest offset and velocity.
+     * @param view
+     * @param scrollEventThrottle
+     */
+    @ReactProp(name = "scrollEventThrottle")
+    public void setScrollEventThrottle(FixedScrollView view, int scrollEventThrottle) {
+        view.setScrollEventThrottle(scrollEventThrottle);
+    }
+
+    /**
+     * How the gesture is shared with the inner ScrollView: "intercept" (default) decides once per
+     * gesture from the touch heuristics, "nested" hands the same drag off through nested
+     * scrolling once the header is collapsed (Android 5.0+).
+     * @param view
+     * @param nestedScrollMode
+     */
+    @ReactProp(name = "nestedScrollMode")
+    public void setNestedScrollMode(FixedScrollView view, @Nullable String nestedScrollMode) {
+        view.setNestedScrollMode(nestedScrollMode);
+    }
+
+    /**
+     * Makes flings and slow releases settle on a multiple of this interval.
+     * @param view
+     * @param snapToInterval
+     */
+    @ReactProp(name = "snapToInterval")
+    public void setSnapToInterval(FixedScrollView view, float snapToInterval) {
+        view.setSnapInterval(Math.round(PixelUtil.toPixelFromDIP(snapToInterval)));
+    }
+
+    /**
+     * Makes flings and slow releases settle on the closest of these offsets. Takes precedence over
+     * snapToInterval and pagingEnabled.
+     * @param view
+     * @param snapToOffsets
+     */
+    @ReactProp(name = "snapToOffsets")
+    public void setSnapToOffsets(FixedScrollView view, @Nullable ReadableArray snapToOffsets) {
+        if (snapToOffsets == null || snapToOffsets.size() == 0) {
+            view.setSnapOffsets(null);
+            return;
+        }
+        int[] offsets = new int[snapToOffsets.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = snapToOffsets.getType(i) == ReadableType.Number
+                    ? Math.round(PixelUtil.toPixelFromDIP(snapToOffsets.getDouble(i)))
+                    : 0;
+        }
+        view.setSnapOffsets(offsets);
+    }
+
+    /**
+     * Makes flings and slow releases settle on a multiple of the viewport height.
+     * @param view
+     * @param pagingEnabled
+     */
+    @ReactProp(name = "pagingEnabled")
+    public void setPagingEnabled(FixedScrollView view, boolean pagingEnabled) {
+        view.setPagingEnabled(pagingEnabled);
+    }
+
+    /**
+     * Fling deceleration, as processed by processDecelerationRate in JS. Lower values end flings
+     * sooner.
+     * @param view
+     * @param decelerationRate
+     */
+    @ReactProp(name = "decelerationRate", defaultFloat = 0.985f)
+    public void setDecelerationRate(FixedScrollView view, float decelerationRate) {
+        view.setDecelerationRate(decelerationRate);
+    }
+
+    /**
+     * Indices of the content children pinned to the top while scrolling. Pinning is done natively
+     * on every scroll change, without going through JS.
+     * @param view
+     * @param stickyHeaderIndices
+     */
+    @ReactProp(name = "stickyHeaderIndices")
+    public void setStickyHeaderIndices(FixedScrollView view, @Nullable ReadableArray stickyHeaderIndices) {
+        if (stickyHeaderIndices == null || stickyHeaderIndices.size() == 0) {
+            view.setStickyHeaderIndices(null);
+            return;
+        }
+        int[] indices = new int[stickyHeaderIndices.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = stickyHeaderIndices.getInt(i);
+        }
+        Arrays.sort(indices);
+        view.setStickyHeaderIndices(indices);
+    }
+
+    /**
+     * When set, pinned sticky headers stack below each other instead of the next one pushing the
+     * current one off.
+     * @param view
+     * @param stickyHeadersStacked
+     */
+    @ReactProp(name = "stickyHeadersStacked")
+    public void setStickyHeadersStacked(FixedScrollView view, boolean stickyHeadersStacked) {
+        view.setStickyHeadersStacked(stickyHeadersStacked);
+    }
+
+    /**
+     * Indices of the content children, e.g. [0] for the header, promoted to hardware layers while
+     * the view is dragged or flinging and returned to no layer once the momentum ends.
+     * @param view
+     * @param hardwareLayerIndices
+     */
+    @ReactProp(name = "hardwareLayerIndices")
+    public void setHardwareLayerIndices(FixedScrollView view, @Nullable ReadableArray hardwareLayerIndices) {
+        if (hardwareLayerIndices == null || hardwareLayerIndices.size() == 0) {
+            view.setHardwareLayerIndices(null);
+            return;
+        }
+        int[] indices = new int[hardwareLayerIndices.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = hardwareLayerIndices.getInt(i);
+        }
+        view.setHardwareLayerIndices(indices);
+    }
+
+    /**
+     * When set, the background and borders are only painted where the viewport is not covered by
+     * opaque content, instead of under the whole content.
+     * @param view
+     * @param overdrawOptimization
+     */
+    @ReactProp(name = "overdrawOptimization")
+    public void setOverdrawOptimization(FixedScrollView view, boolean overdrawOptimization) {
+        view.setOverdrawOptimization(overdrawOptimization);
+    }
+
+    /**
+     * Key under which the scroll offset is remembered when the view is detached. A view created
+     * later with the same key starts at that offset, applied before its first draw.
+     * @param view
+     * @param restorationKey
+     */
+    @ReactProp(name = "restorationKey")
+    public void setRestorationKey(FixedScrollView view, @Nullable String restorationKey) {
+        view.setRestorationKey(restorationKey);
+    }
+
+    /**
+     * Set by AnimatedFixedScrollView: onScroll has a native driven Animated.event attached, so
+     * scroll events are dispatched on every frame regardless of scrollEventThrottle and
+     * offsetChannel, letting NativeAnimatedModule update the mapped nodes on the UI thread.
+     * @param view
+     * @param nativeAnimatedScroll
+     */
+    @ReactProp(name = "nativeAnimatedScroll")
+    public void setNativeAnimatedScroll(FixedScrollView view, boolean nativeAnimatedScroll) {
+        view.setNativeAnimatedScroll(nativeAnimatedScroll);
+    }
+
+    /**
+     * Set from JS when onVisibleItemsChanged is given: the viewable content children are computed
+     * natively and sent in a single event whenever that set changes.
+     * @param view
+     * @param visibleItemsTracking
+     */
+    @ReactProp(name = "visibleItemsTracking")
+    public void setVisibleItemsTracking(FixedScrollView view, boolean visibleItemsTracking) {
+        view.setVisibleItemsTracking(visibleItemsTracking);
+    }
+
+    /**
+     * Percentage (0-100) of a child's height that has to be in the viewport for it to be viewable.
+     * The default of 0 counts any visible pixel.
+     * @param view
+     * @param itemVisiblePercentThreshold
+     */
+    @ReactProp(name = "itemVisiblePercentThreshold")
+    public void setItemVisiblePercentThreshold(FixedScrollView view, float itemVisiblePercentThreshold) {
+        view.setItemVisiblePercentThreshold(itemVisiblePercentThreshold);
+    }
+
+    /**
+     * Time in ms the set of viewable children has to stay the same before it is reported.
+     * @param view
+     * @param minimumViewTime
+     */
+    @ReactProp(name = "minimumViewTime")
+    public void setMinimumViewTime(FixedScrollView view, int minimumViewTime) {
+        view.setMinimumViewTime(minimumViewTime);
+    }
+
+    /**
+     * Distance outside the viewport within which children are reported as near, e.g. to start
+     * loading their images.
+     * @param view
+     * @param visibleItemsOverscan
+     */
+    @ReactProp(name = "visibleItemsOverscan")
+    public void setVisibleItemsOverscan(FixedScrollView view, float visibleItemsOverscan) {
+        view.setVisibleItemsOverscan(Math.round(PixelUtil.toPixelFromDIP(visibleItemsOverscan)));
+    }
+
+    /**
+     * When set, the scroll offset and velocity are written to a {@link ScrollOffsetChannel} read
+     * by the FixedScrollViewOffsetChannel module instead of being sent as an onScroll event every
+     * frame. Drag and momentum begin/end events are still sent.
+     * @param view
+     * @param offsetChannel
+     */
+    @ReactProp(name = "offsetChannel")
+    public void setOffsetChannel(FixedScrollView view, boolean offsetChannel) {
+        view.setOffsetChannelEnabled(offsetChannel);
+    }
+
+    @Override
+    public void onDropViewInstance(FixedScrollView view) {
+        super.onDropViewInstance(view);
+        view.setOffsetChannelEnabled(false);
+    }
+
     /**
      * Controls overScroll behaviour
      */
@@ -119,7 +428,7 @@ public class FixedScrollViewModule
     @Override
     public @Nullable
     Map<String, Integer> getCommandsMap() {
-        return ReactScrollViewCommandHelper.getCommandsMap();
+        return FixedScrollCommandHelper.getCommandsMap();
     }
 
     @Override
@@ -127,7 +436,9 @@ public class FixedScrollViewModule
             FixedScrollView scrollView,
             int commandId,
             @Nullable ReadableArray args) {
-        ReactScrollViewCommandHelper.receiveCommand(this, scrollView, commandId, args);
+        if (!FixedScrollCommandHelper.receiveCommand(scrollView, commandId, args)) {
+            ReactScrollViewCommandHelper.receiveCommand(this, scrollView, commandId, args);
+        }
     }
 
     @Override
@@ -196,14 +507,7 @@ public class FixedScrollViewModule
     public void scrollToEnd(
             FixedScrollView scrollView,
             ReactScrollViewCommandHelper.ScrollToEndCommandData data) {
-        // ScrollView always has one child - the scrollable area
-        int bottom =
-                scrollView.getChildAt(0).getHeight() + scrollView.getPaddingBottom();
-        if (data.mAnimated) {
-            scrollView.smoothScrollTo(scrollView.getScrollX(), bottom);
-        } else {
-            scrollView.scrollTo(scrollView.getScrollX(), bottom);
-        }
+        scrollView.scrollToY(scrollView.getMaxScrollY(), data.mAnimated);
     }
 
     @Override
@@ -218,6 +522,7 @@ public class FixedScrollViewModule
                 .put(ScrollEventType.END_DRAG.getJSEventName(), MapBuilder.of("registrationName", "onScrollEndDrag"))
                 .put(ScrollEventType.MOMENTUM_BEGIN.getJSEventName(), MapBuilder.of("registrationName", "onMomentumScrollBegin"))
                 .put(ScrollEventType.MOMENTUM_END.getJSEventName(), MapBuilder.of("registrationName", "onMomentumScrollEnd"))
+                .put(VisibleItemsChangedEvent.EVENT_NAME, MapBuilder.of("registrationName", "onVisibleItemsChanged"))
                 .build();
     }
 }
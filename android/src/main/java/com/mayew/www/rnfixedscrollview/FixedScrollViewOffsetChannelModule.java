@@ -0,0 +1,35 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.uimanager.PixelUtil;
+
+/**
+ * Lets JS read the {@link ScrollOffsetChannel} of a FixedScrollView with {@code offsetChannel}
+ * enabled, synchronously and without any scroll event going over the bridge.
+ */
+@ReactModule(name = FixedScrollViewOffsetChannelModule.NAME)
+public class FixedScrollViewOffsetChannelModule extends ReactContextBaseJavaModule {
+    protected static final String NAME = "FixedScrollViewOffsetChannel";
+
+    public FixedScrollViewOffsetChannelModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Latest y offset of the view in dp, or 0 when it has no channel. Returned as a plain double
+     * rather than a map, so a read, possibly on every frame, has no map to build and serialize.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getOffsetY(int reactTag) {
+        ScrollOffsetChannel channel = ScrollOffsetChannel.get(reactTag);
+        return channel == null ? 0 : PixelUtil.toDIPFromPixel(channel.getY());
+    }
+}
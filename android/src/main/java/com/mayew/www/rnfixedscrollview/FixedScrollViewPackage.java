@@ -16,13 +16,16 @@ public class FixedScrollViewPackage implements ReactPackage {
     @Override
     public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
         List<NativeModule> modules = new ArrayList<>();
+        modules.add(new FixedScrollViewPerfModule(reactContext));
+        modules.add(new FixedScrollViewOffsetChannelModule(reactContext));
         return modules;
     }
 
     @Override
     public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
         return Arrays.<ViewManager>asList(
-            new FixedScrollViewModule()
+            new FixedScrollViewModule(),
+            new FixedHorizontalScrollViewModule()
         );
     }
 }
@@ -0,0 +1,58 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.module.annotations.ReactModule;
+
+/**
+ * Exposes the {@link ScrollPerfMetrics} collected for each {@code scrollPerfTag} to JS.
+ */
+@ReactModule(name = FixedScrollViewPerfModule.NAME)
+public class FixedScrollViewPerfModule extends ReactContextBaseJavaModule {
+    protected static final String NAME = "FixedScrollViewPerf";
+
+    public FixedScrollViewPerfModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Metrics are kept per tag for the whole process, they would otherwise outlive a reload and
+     * mix with the ones of the next JS instance.
+     */
+    @Override
+    public void onCatalystInstanceDestroy() {
+        ScrollPerfMetrics.clear();
+    }
+
+    @ReactMethod
+    public void getTags(Promise promise) {
+        WritableArray tags = Arguments.createArray();
+        for (String tag : ScrollPerfMetrics.getTags()) {
+            tags.pushString(tag);
+        }
+        promise.resolve(tags);
+    }
+
+    @ReactMethod
+    public void getMetrics(String scrollPerfTag, Promise promise) {
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.findForTag(scrollPerfTag);
+        promise.resolve(metrics != null ? metrics.toWritableMap() : null);
+    }
+
+    @ReactMethod
+    public void resetMetrics(String scrollPerfTag) {
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.findForTag(scrollPerfTag);
+        if (metrics != null) {
+            metrics.reset();
+        }
+    }
+}
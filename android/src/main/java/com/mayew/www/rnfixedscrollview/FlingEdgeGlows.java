@@ -0,0 +1,96 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+import android.widget.EdgeEffect;
+
+/**
+ * Edge glows absorbing the flings run on our own scroller. The framework scroll views keep their
+ * glows private, so these are drawn by the view after its own content, with the same placement:
+ * the start glow at the top (left) of the viewport and the end glow rotated at its bottom (right).
+ */
+class FlingEdgeGlows {
+    private final View mView;
+    private final boolean mHorizontal;
+    private final EdgeEffect mStartGlow;
+    private final EdgeEffect mEndGlow;
+
+    FlingEdgeGlows(Context context, View view, boolean horizontal) {
+        mView = view;
+        mHorizontal = horizontal;
+        mStartGlow = new EdgeEffect(context);
+        mEndGlow = new EdgeEffect(context);
+    }
+
+    /** Whether the overScrollMode lets a fling overscroll a view with {@param scrollRange}. */
+    public boolean canOverscroll(int scrollRange) {
+        int overScrollMode = mView.getOverScrollMode();
+        return overScrollMode == View.OVER_SCROLL_ALWAYS
+                || (overScrollMode == View.OVER_SCROLL_IF_CONTENT_SCROLLS && scrollRange > 0);
+    }
+
+    public void absorbStart(int velocity) {
+        mStartGlow.onAbsorb(velocity);
+        mView.postInvalidateOnAnimation();
+    }
+
+    public void absorbEnd(int velocity) {
+        mEndGlow.onAbsorb(velocity);
+        mView.postInvalidateOnAnimation();
+    }
+
+    public void draw(Canvas canvas, int scrollRange) {
+        if (mHorizontal) {
+            drawHorizontal(canvas, scrollRange);
+        } else {
+            drawVertical(canvas, scrollRange);
+        }
+    }
+
+    private void drawVertical(Canvas canvas, int scrollRange) {
+        int width = mView.getWidth() - mView.getPaddingLeft() - mView.getPaddingRight();
+        int height = mView.getHeight();
+        int scrollY = mView.getScrollY();
+        if (!mStartGlow.isFinished()) {
+            int restoreCount = canvas.save();
+            canvas.translate(mView.getPaddingLeft(), Math.min(0, scrollY));
+            drawGlow(canvas, mStartGlow, width, height);
+            canvas.restoreToCount(restoreCount);
+        }
+        if (!mEndGlow.isFinished()) {
+            int restoreCount = canvas.save();
+            canvas.translate(mView.getPaddingLeft() - width, Math.max(scrollRange, scrollY) + height);
+            canvas.rotate(180, width, 0);
+            drawGlow(canvas, mEndGlow, width, height);
+            canvas.restoreToCount(restoreCount);
+        }
+    }
+
+    private void drawHorizontal(Canvas canvas, int scrollRange) {
+        int width = mView.getWidth();
+        int height = mView.getHeight() - mView.getPaddingTop() - mView.getPaddingBottom();
+        int scrollX = mView.getScrollX();
+        if (!mStartGlow.isFinished()) {
+            int restoreCount = canvas.save();
+            canvas.rotate(270);
+            canvas.translate(-height + mView.getPaddingTop(), Math.min(0, scrollX));
+            drawGlow(canvas, mStartGlow, height, width);
+            canvas.restoreToCount(restoreCount);
+        }
+        if (!mEndGlow.isFinished()) {
+            int restoreCount = canvas.save();
+            canvas.rotate(90);
+            canvas.translate(-mView.getPaddingTop(), -(Math.max(scrollRange, scrollX) + width));
+            drawGlow(canvas, mEndGlow, height, width);
+            canvas.restoreToCount(restoreCount);
+        }
+    }
+
+    private void drawGlow(Canvas canvas, EdgeEffect glow, int width, int height) {
+        glow.setSize(width, height);
+        if (glow.draw(canvas)) {
+            mView.postInvalidateOnAnimation();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+
+import javax.annotation.Nullable;
+
+/**
+ * Classifies a touch gesture as vertical or horizontal from the samples it has seen so far, and
+ * tracks its velocity. Nothing is decided until the finger has moved past the touch slop. The
+ * first sample past it that is clearly on one axis locks the direction, so the decision is made
+ * on the same event where a nested ScrollView would start dragging. Diagonal samples leave the
+ * gesture undecided. Only depends on the MotionEvents it is fed, which makes recorded traces
+ * replayable.
+ */
+class GestureClassifier {
+    public static final int DIRECTION_UNDECIDED = 0;
+    public static final int DIRECTION_VERTICAL = 1;
+    public static final int DIRECTION_HORIZONTAL = 2;
+
+    /**
+     * A sample counts as vertical when |dy| exceeds |dx| by this ratio (tan of ~56° from the
+     * horizontal axis), and as horizontal in the symmetric case. Samples in between are diagonal.
+     */
+    static final float DIRECTION_RATIO = 1.5f;
+
+    private final int mTouchSlop;
+    private @Nullable VelocityTracker mVelocityTracker;
+
+    private float mDownX;
+    private float mDownY;
+    private float mDeltaX;
+    private float mDeltaY;
+    private long mLastEventTime = -1;
+    private int mLastAction = -1;
+    private int mDirection = DIRECTION_UNDECIDED;
+    private boolean mPastTouchSlop;
+    private float mXVelocity;
+    private float mYVelocity;
+
+    private int mVerticalGestureCount;
+    private int mHorizontalGestureCount;
+
+    GestureClassifier(int touchSlop) {
+        mTouchSlop = touchSlop;
+    }
+
+    /**
+     * Feeds an event of the current gesture. The same event may be seen from both
+     * onInterceptTouchEvent and onTouchEvent, it is only accounted for once.
+     */
+    public void onTouchEvent(MotionEvent ev) {
+        int action = ev.getActionMasked();
+        if (ev.getEventTime() == mLastEventTime && action == mLastAction) {
+            return;
+        }
+        mLastEventTime = ev.getEventTime();
+        mLastAction = action;
+
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        if (action == MotionEvent.ACTION_DOWN) {
+            mVelocityTracker.clear();
+            mDownX = ev.getX();
+            mDownY = ev.getY();
+            mDeltaX = 0;
+            mDeltaY = 0;
+            mDirection = DIRECTION_UNDECIDED;
+            mPastTouchSlop = false;
+            mXVelocity = 0;
+            mYVelocity = 0;
+        }
+
+        mVelocityTracker.addMovement(ev);
+
+        if (action == MotionEvent.ACTION_MOVE) {
+            mDeltaX = ev.getX() - mDownX;
+            mDeltaY = ev.getY() - mDownY;
+            classify();
+        } else if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            mVelocityTracker.computeCurrentVelocity(1);
+            mXVelocity = mVelocityTracker.getXVelocity();
+            mYVelocity = mVelocityTracker.getYVelocity();
+        }
+    }
+
+    private void classify() {
+        if (mDirection != DIRECTION_UNDECIDED) {
+            return;
+        }
+
+        float absX = Math.abs(mDeltaX);
+        float absY = Math.abs(mDeltaY);
+        if (absX * absX + absY * absY < (float) mTouchSlop * mTouchSlop) {
+            return;
+        }
+        mPastTouchSlop = true;
+
+        if (absY > absX * DIRECTION_RATIO) {
+            mDirection = DIRECTION_VERTICAL;
+            mVerticalGestureCount++;
+        } else if (absX > absY * DIRECTION_RATIO) {
+            mDirection = DIRECTION_HORIZONTAL;
+            mHorizontalGestureCount++;
+        }
+    }
+
+    /**
+     * Gives the velocity tracker back to its pool, e.g. once the view is detached. The next event
+     * obtains a new one.
+     */
+    public void recycle() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    public int getDirection() {
+        return mDirection;
+    }
+
+    /**
+     * Whether the finger has left the touch slop. Undecided past it means the gesture is diagonal.
+     */
+    public boolean isPastTouchSlop() {
+        return mPastTouchSlop;
+    }
+
+    /** Vertical distance from the finger-down, negative when the finger moved up. */
+    public float getDeltaY() {
+        return mDeltaY;
+    }
+
+    public float getDeltaX() {
+        return mDeltaX;
+    }
+
+    /** Velocity in px/ms at the end of the last gesture. */
+    public float getXVelocity() {
+        return mXVelocity;
+    }
+
+    public float getYVelocity() {
+        return mYVelocity;
+    }
+
+    public int getVerticalGestureCount() {
+        return mVerticalGestureCount;
+    }
+
+    public int getHorizontalGestureCount() {
+        return mHorizontalGestureCount;
+    }
+}
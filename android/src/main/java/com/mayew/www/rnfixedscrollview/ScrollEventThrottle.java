@@ -0,0 +1,97 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.SystemClock;
+import android.view.View;
+
+/**
+ * Emits the scroll events of a view, or coalesces them with the following ones when they fall
+ * inside the {@code scrollEventThrottle} window. Only the latest velocity is kept, and the pending
+ * event is flushed at the end of the window so the last position always reaches JS once motion
+ * stops. Shared by the vertical and horizontal views.
+ */
+class ScrollEventThrottle {
+    interface Emitter {
+        void emitScrollEvent(float xVelocity, float yVelocity);
+    }
+
+    private final View mView;
+    private final Emitter mEmitter;
+
+    private int mThrottle;
+    private long mLastEventTime = -1;
+    private boolean mPending;
+    private float mPendingXVelocity;
+    private float mPendingYVelocity;
+    private int mEmittedCount;
+    private int mDroppedCount;
+    private final Runnable mFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mPending) {
+                emit(mPendingXVelocity, mPendingYVelocity, SystemClock.uptimeMillis());
+            }
+        }
+    };
+
+    ScrollEventThrottle(View view, Emitter emitter) {
+        mView = view;
+        mEmitter = emitter;
+    }
+
+    public void setThrottle(int throttle) {
+        mThrottle = throttle;
+    }
+
+    /** Emits the event now, or keeps it pending until the end of the throttle window. */
+    public void dispatch(float xVelocity, float yVelocity) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - mLastEventTime;
+        // The first event of the view is never held back
+        if (mThrottle <= 0 || mLastEventTime < 0 || elapsed >= mThrottle) {
+            if (mPending) {
+                mView.removeCallbacks(mFlushRunnable);
+                mDroppedCount++;
+            }
+            emit(xVelocity, yVelocity, now);
+            return;
+        }
+
+        if (mPending) {
+            mDroppedCount++;
+        } else {
+            mPending = true;
+            mView.postOnAnimationDelayed(mFlushRunnable, mThrottle - elapsed);
+        }
+        mPendingXVelocity = xVelocity;
+        mPendingYVelocity = yVelocity;
+    }
+
+    /** Emits the event now whatever the throttle, replacing the pending one if there is one. */
+    public void emitNow(float xVelocity, float yVelocity) {
+        if (mPending) {
+            mView.removeCallbacks(mFlushRunnable);
+        }
+        emit(xVelocity, yVelocity, SystemClock.uptimeMillis());
+    }
+
+    /** Drops the pending event, e.g. once the view is detached. */
+    public void cancel() {
+        mView.removeCallbacks(mFlushRunnable);
+        mPending = false;
+    }
+
+    public int getEmittedCount() {
+        return mEmittedCount;
+    }
+
+    public int getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    private void emit(float xVelocity, float yVelocity, long now) {
+        mPending = false;
+        mLastEventTime = now;
+        mEmittedCount++;
+        mEmitter.emitScrollEvent(xVelocity, yVelocity);
+    }
+}
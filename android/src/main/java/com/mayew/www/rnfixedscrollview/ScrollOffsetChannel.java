@@ -0,0 +1,87 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.util.SparseArray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Latest scroll offset and velocity of a scroll view, written on the UI thread into a small
+ * direct buffer instead of being serialized into a scroll event per frame. The buffer layout is
+ * fixed so it can be handed to JS as-is later (e.g. as a JSI ArrayBuffer):
+ * <pre>
+ *   0: int   sequence, incremented on every write
+ *   4: float x offset (px)
+ *   8: float y offset (px)
+ *  12: float x velocity
+ *  16: float y velocity
+ * </pre>
+ */
+public class ScrollOffsetChannel {
+    public static final int SEQUENCE_OFFSET = 0;
+    public static final int X_OFFSET = 4;
+    public static final int Y_OFFSET = 8;
+    public static final int X_VELOCITY_OFFSET = 12;
+    public static final int Y_VELOCITY_OFFSET = 16;
+    public static final int SIZE = 20;
+
+    private static final SparseArray<ScrollOffsetChannel> sChannels = new SparseArray<>();
+
+    private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(SIZE).order(ByteOrder.nativeOrder());
+    private int mSequence;
+
+    public static ScrollOffsetChannel register(int viewTag) {
+        synchronized (sChannels) {
+            ScrollOffsetChannel channel = sChannels.get(viewTag);
+            if (channel == null) {
+                channel = new ScrollOffsetChannel();
+                sChannels.put(viewTag, channel);
+            }
+            return channel;
+        }
+    }
+
+    public static void unregister(int viewTag) {
+        synchronized (sChannels) {
+            sChannels.remove(viewTag);
+        }
+    }
+
+    public static ScrollOffsetChannel get(int viewTag) {
+        synchronized (sChannels) {
+            return sChannels.get(viewTag);
+        }
+    }
+
+    public synchronized void write(int x, int y, float xVelocity, float yVelocity) {
+        mBuffer.putInt(SEQUENCE_OFFSET, ++mSequence);
+        mBuffer.putFloat(X_OFFSET, x);
+        mBuffer.putFloat(Y_OFFSET, y);
+        mBuffer.putFloat(X_VELOCITY_OFFSET, xVelocity);
+        mBuffer.putFloat(Y_VELOCITY_OFFSET, yVelocity);
+    }
+
+    public ByteBuffer getBuffer() {
+        return mBuffer;
+    }
+
+    public synchronized int getSequence() {
+        return mBuffer.getInt(SEQUENCE_OFFSET);
+    }
+
+    public synchronized float getX() {
+        return mBuffer.getFloat(X_OFFSET);
+    }
+
+    public synchronized float getY() {
+        return mBuffer.getFloat(Y_OFFSET);
+    }
+
+    public synchronized float getXVelocity() {
+        return mBuffer.getFloat(X_VELOCITY_OFFSET);
+    }
+
+    public synchronized float getYVelocity() {
+        return mBuffer.getFloat(Y_VELOCITY_OFFSET);
+    }
+}
@@ -0,0 +1,170 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Scroll performance counters shared by all scroll views using the same {@code scrollPerfTag}.
+ * Written on the UI thread and read from the native modules thread, hence the locking.
+ */
+public class ScrollPerfMetrics {
+    private static final Map<String, ScrollPerfMetrics> sMetrics = new HashMap<>();
+
+    static final long FRAME_INTERVAL_NS = 16666667L;
+
+    /** Upper bounds of the frame time histogram buckets, the last bucket is open ended. */
+    static final int[] FRAME_TIME_BUCKETS_MS = {8, 17, 25, 34, 50, 100};
+    /** Upper bounds of the onInterceptTouchEvent time histogram buckets, in microseconds. */
+    static final int[] INTERCEPT_TIME_BUCKETS_US = {50, 100, 250, 500, 1000, 5000};
+    /** Upper bounds of the fling duration histogram buckets. */
+    static final int[] FLING_DURATION_BUCKETS_MS = {100, 250, 500, 1000, 2000, 5000};
+
+    private final long[] mFrameTimeHistogram = new long[FRAME_TIME_BUCKETS_MS.length + 1];
+    private final long[] mInterceptTimeHistogram = new long[INTERCEPT_TIME_BUCKETS_US.length + 1];
+    private final long[] mFlingDurationHistogram = new long[FLING_DURATION_BUCKETS_MS.length + 1];
+    private long mFrameCount;
+    private long mDroppedFrameCount;
+    private long mInterceptCount;
+    private long mInterceptTimeNs;
+    private long mScrollEventCount;
+    private long mFlingCount;
+
+    public static ScrollPerfMetrics forTag(String tag) {
+        synchronized (sMetrics) {
+            ScrollPerfMetrics metrics = sMetrics.get(tag);
+            if (metrics == null) {
+                metrics = new ScrollPerfMetrics();
+                sMetrics.put(tag, metrics);
+            }
+            return metrics;
+        }
+    }
+
+    /**
+     * Like {@link #forTag(String)}, without registering the tag when nothing was recorded for it.
+     */
+    public static @Nullable ScrollPerfMetrics findForTag(String tag) {
+        synchronized (sMetrics) {
+            return sMetrics.get(tag);
+        }
+    }
+
+    public static String[] getTags() {
+        synchronized (sMetrics) {
+            Set<String> tags = sMetrics.keySet();
+            return tags.toArray(new String[tags.size()]);
+        }
+    }
+
+    /** Drops the metrics of every tag, e.g. when the JS instance they were collected for goes away. */
+    public static void clear() {
+        synchronized (sMetrics) {
+            sMetrics.clear();
+        }
+    }
+
+    public synchronized void recordFrame(long frameTimeNs) {
+        mFrameCount++;
+        if (frameTimeNs > FRAME_INTERVAL_NS * 3 / 2) {
+            mDroppedFrameCount += Math.round((double) frameTimeNs / FRAME_INTERVAL_NS) - 1;
+        }
+        increment(mFrameTimeHistogram, FRAME_TIME_BUCKETS_MS, frameTimeNs / 1000000L);
+    }
+
+    public synchronized void recordIntercept(long durationNs) {
+        mInterceptCount++;
+        mInterceptTimeNs += durationNs;
+        increment(mInterceptTimeHistogram, INTERCEPT_TIME_BUCKETS_US, durationNs / 1000L);
+    }
+
+    public synchronized void recordScrollEvent() {
+        mScrollEventCount++;
+    }
+
+    public synchronized void recordFling(long durationMs) {
+        mFlingCount++;
+        increment(mFlingDurationHistogram, FLING_DURATION_BUCKETS_MS, durationMs);
+    }
+
+    public synchronized long getFrameCount() {
+        return mFrameCount;
+    }
+
+    public synchronized long getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+    public synchronized long getScrollEventCount() {
+        return mScrollEventCount;
+    }
+
+    public synchronized long getInterceptCount() {
+        return mInterceptCount;
+    }
+
+    public synchronized long getFlingCount() {
+        return mFlingCount;
+    }
+
+    public synchronized void reset() {
+        mFrameCount = 0;
+        mDroppedFrameCount = 0;
+        mInterceptCount = 0;
+        mInterceptTimeNs = 0;
+        mScrollEventCount = 0;
+        mFlingCount = 0;
+        fill(mFrameTimeHistogram);
+        fill(mInterceptTimeHistogram);
+        fill(mFlingDurationHistogram);
+    }
+
+    public synchronized WritableMap toWritableMap() {
+        WritableMap map = Arguments.createMap();
+        map.putDouble("frameCount", mFrameCount);
+        map.putDouble("droppedFrameCount", mDroppedFrameCount);
+        map.putMap("frameTimeMs", histogram(FRAME_TIME_BUCKETS_MS, mFrameTimeHistogram));
+        map.putDouble("interceptCount", mInterceptCount);
+        map.putDouble("interceptTimeTotalUs", mInterceptTimeNs / 1000.0);
+        map.putMap("interceptTimeUs", histogram(INTERCEPT_TIME_BUCKETS_US, mInterceptTimeHistogram));
+        map.putDouble("scrollEventCount", mScrollEventCount);
+        map.putDouble("flingCount", mFlingCount);
+        map.putMap("flingDurationMs", histogram(FLING_DURATION_BUCKETS_MS, mFlingDurationHistogram));
+        return map;
+    }
+
+    private static WritableMap histogram(int[] bounds, long[] counts) {
+        WritableArray boundsArray = Arguments.createArray();
+        for (int bound : bounds) {
+            boundsArray.pushInt(bound);
+        }
+        WritableArray countsArray = Arguments.createArray();
+        for (long count : counts) {
+            countsArray.pushDouble(count);
+        }
+        WritableMap map = Arguments.createMap();
+        map.putArray("buckets", boundsArray);
+        map.putArray("counts", countsArray);
+        return map;
+    }
+
+    private static void increment(long[] histogram, int[] bounds, long value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) {
+            i++;
+        }
+        histogram[i]++;
+    }
+
+    private static void fill(long[] histogram) {
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = 0;
+        }
+    }
+}
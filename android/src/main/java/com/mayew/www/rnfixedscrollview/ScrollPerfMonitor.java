@@ -0,0 +1,61 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Per-view frame tracking feeding a {@link ScrollPerfMetrics}. Frames are only observed between
+ * {@link #start()} and {@link #stop()}, i.e. while the view is being dragged or is flinging.
+ */
+class ScrollPerfMonitor implements Choreographer.FrameCallback {
+    private final ScrollPerfMetrics mMetrics;
+    private boolean mActive;
+    private long mLastFrameTimeNs;
+    private long mFlingStartMs = -1;
+
+    ScrollPerfMonitor(ScrollPerfMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    public ScrollPerfMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    public void start() {
+        if (!mActive) {
+            mActive = true;
+            mLastFrameTimeNs = 0;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    public void stop() {
+        if (mActive) {
+            mActive = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    public void onFlingStarted() {
+        mFlingStartMs = SystemClock.uptimeMillis();
+    }
+
+    public void onFlingEnded() {
+        if (mFlingStartMs >= 0) {
+            mMetrics.recordFling(SystemClock.uptimeMillis() - mFlingStartMs);
+            mFlingStartMs = -1;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mActive) {
+            return;
+        }
+        if (mLastFrameTimeNs != 0) {
+            mMetrics.recordFrame(frameTimeNanos - mLastFrameTimeNs);
+        }
+        mLastFrameTimeNs = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
@@ -0,0 +1,30 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+
+/**
+ * Sent when the set of viewable or near-viewable content children changes, see
+ * {@link VisibleRangeTracker}.
+ */
+class VisibleItemsChangedEvent extends Event<VisibleItemsChangedEvent> {
+    public static final String EVENT_NAME = "topVisibleItemsChanged";
+
+    private final WritableMap mData;
+
+    VisibleItemsChangedEvent(int viewTag, WritableMap data) {
+        super(viewTag);
+        mData = data;
+    }
+
+    @Override
+    public String getEventName() {
+        return EVENT_NAME;
+    }
+
+    @Override
+    public void dispatch(RCTEventEmitter rctEventEmitter) {
+        rctEventEmitter.receiveEvent(getViewTag(), getEventName(), mData);
+    }
+}
@@ -0,0 +1,230 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which children of a scroll content view are viewable, and which are only near the
+ * viewport. Children are kept sorted by top together with the running maximum of their bottoms,
+ * so the candidates for a viewport are found with two binary searches and only they are looked
+ * at, whatever the number of children.
+ */
+class VisibleRangeTracker {
+    private long[] mSortKeys = new long[0];
+    private int[] mTops = new int[0];
+    private int[] mBottoms = new int[0];
+    private int[] mMaxBottoms = new int[0];
+    private int[] mIndices = new int[0];
+    private int mCount;
+    private boolean mDirty = true;
+
+    private int[] mViewable = new int[16];
+    private int mViewableCount;
+    private int[] mNear = new int[16];
+    private int mNearCount;
+    private int[] mNextViewable = new int[16];
+    private int mNextViewableCount;
+    private int[] mNextNear = new int[16];
+    private int mNextNearCount;
+
+    private int[] mEmittedViewable = new int[16];
+    private int mEmittedViewableCount;
+    private int[] mEmittedNear = new int[16];
+    private int mEmittedNearCount;
+    private boolean mEmitted;
+
+    public void invalidate() {
+        mDirty = true;
+    }
+
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Rebuilds the sorted bounds from the children of {@param content}, including those detached
+     * by subview clipping. Edges are stored in the coordinates of the content's parent.
+     */
+    public void rebuild(ViewGroup content) {
+        int count = ChildBoundsIndex.getAllChildCount(content);
+        if (mSortKeys.length < count) {
+            mSortKeys = new long[count];
+            mTops = new int[count];
+            mBottoms = new int[count];
+            mMaxBottoms = new int[count];
+            mIndices = new int[count];
+        }
+
+        // Sort by top without boxing: the top goes in the high bits, the child index in the low ones
+        for (int i = 0; i < count; i++) {
+            View child = ChildBoundsIndex.getChildAt(content, i);
+            mSortKeys[i] = ((long) child.getTop() << 32) | i;
+        }
+        Arrays.sort(mSortKeys, 0, count);
+
+        int offset = content.getTop();
+        int maxBottom = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int index = (int) mSortKeys[i];
+            View child = ChildBoundsIndex.getChildAt(content, index);
+            mIndices[i] = index;
+            mTops[i] = child.getTop() + offset;
+            mBottoms[i] = child.getBottom() + offset;
+            maxBottom = Math.max(maxBottom, mBottoms[i]);
+            mMaxBottoms[i] = maxBottom;
+        }
+        mCount = count;
+        mDirty = false;
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    /**
+     * Recomputes the viewable and near children for the viewport [{@param top}, {@param bottom}).
+     * A child is viewable when at least {@param thresholdPercent} of its height is in the viewport,
+     * and near when it is not viewable but intersects the viewport grown by {@param overscan}.
+     *
+     * @return whether either set changed since the previous update
+     */
+    public boolean update(int top, int bottom, int overscan, float thresholdPercent) {
+        int nearTop = top - overscan;
+        int nearBottom = bottom + overscan;
+        int start = firstMaxBottomReaching(nearTop);
+        int end = firstTopAtOrBelow(nearBottom);
+
+        mNextViewableCount = 0;
+        mNextNearCount = 0;
+        for (int i = start; i < end; i++) {
+            int childTop = mTops[i];
+            int childBottom = mBottoms[i];
+            if (childBottom < nearTop || (childBottom == nearTop && childBottom > childTop)) {
+                continue;
+            }
+
+            int height = childBottom - childTop;
+            boolean viewable;
+            if (height == 0) {
+                viewable = childTop >= top && childTop < bottom;
+            } else {
+                int visible = Math.min(childBottom, bottom) - Math.max(childTop, top);
+                viewable = visible > 0 && visible * 100f >= thresholdPercent * height;
+            }
+
+            if (viewable) {
+                mNextViewable = append(mNextViewable, mNextViewableCount++, mIndices[i]);
+            } else {
+                mNextNear = append(mNextNear, mNextNearCount++, mIndices[i]);
+            }
+        }
+
+        if (rangeEquals(mNextViewable, mNextViewableCount, mViewable, mViewableCount)
+                && rangeEquals(mNextNear, mNextNearCount, mNear, mNearCount)) {
+            return false;
+        }
+        int[] viewable = mViewable;
+        mViewable = mNextViewable;
+        mViewableCount = mNextViewableCount;
+        mNextViewable = viewable;
+        int[] near = mNear;
+        mNear = mNextNear;
+        mNearCount = mNextNearCount;
+        mNextNear = near;
+        return true;
+    }
+
+    /**
+     * Whether the current sets differ from the ones last reported, e.g. after the items flickered
+     * in and out of view during the dwell time.
+     */
+    public boolean hasChanges() {
+        return !mEmitted
+                || !rangeEquals(mViewable, mViewableCount, mEmittedViewable, mEmittedViewableCount)
+                || !rangeEquals(mNear, mNearCount, mEmittedNear, mEmittedNearCount);
+    }
+
+    public void markEmitted() {
+        if (mEmittedViewable.length < mViewableCount) {
+            mEmittedViewable = new int[mViewable.length];
+        }
+        System.arraycopy(mViewable, 0, mEmittedViewable, 0, mViewableCount);
+        mEmittedViewableCount = mViewableCount;
+        if (mEmittedNear.length < mNearCount) {
+            mEmittedNear = new int[mNear.length];
+        }
+        System.arraycopy(mNear, 0, mEmittedNear, 0, mNearCount);
+        mEmittedNearCount = mNearCount;
+        mEmitted = true;
+    }
+
+    /** Indices of the viewable children, in the order of their tops. */
+    public int getViewableCount() {
+        return mViewableCount;
+    }
+
+    public int getViewableItem(int position) {
+        return mViewable[position];
+    }
+
+    /** Indices of the children that are near the viewport but not viewable. */
+    public int getNearCount() {
+        return mNearCount;
+    }
+
+    public int getNearItem(int position) {
+        return mNear[position];
+    }
+
+    /** First sorted position whose running max bottom reaches {@param y}, all before it end above. */
+    private int firstMaxBottomReaching(int y) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mMaxBottoms[mid] < y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First sorted position whose top is at or below {@param y}, i.e. past the viewport. */
+    private int firstTopAtOrBelow(int y) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mTops[mid] < y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] append(int[] array, int position, int value) {
+        if (position == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[position] = value;
+        return array;
+    }
+
+    private static boolean rangeEquals(int[] a, int aCount, int[] b, int bCount) {
+        if (aCount != bCount) {
+            return false;
+        }
+        for (int i = 0; i < aCount; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
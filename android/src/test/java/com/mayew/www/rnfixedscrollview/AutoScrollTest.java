@@ -0,0 +1,70 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class AutoScrollTest {
+    private static final int HEADER_HEIGHT = 300;
+
+    @Test
+    public void thresholdsDefaultToHalfTheRange() {
+        // Moving up from an expanded header
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(100, 0, HEADER_HEIGHT, 0, 0));
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(150, 0, HEADER_HEIGHT, 0, 0));
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(200, 0, HEADER_HEIGHT, 0, 0));
+        // Moving down from a collapsed header
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(200, HEADER_HEIGHT, HEADER_HEIGHT, 0, 0));
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(150, HEADER_HEIGHT, HEADER_HEIGHT, 0, 0));
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(100, HEADER_HEIGHT, HEADER_HEIGHT, 0, 0));
+    }
+
+    @Test
+    public void upThresholdIsTheOffsetThatCollapses() {
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(59, 0, HEADER_HEIGHT, 60, 0));
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(60, 0, HEADER_HEIGHT, 60, 0));
+    }
+
+    @Test
+    public void downThresholdIsTheDistanceFromCollapsedThatExpands() {
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(241, HEADER_HEIGHT, HEADER_HEIGHT, 0, 60));
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(240, HEADER_HEIGHT, HEADER_HEIGHT, 0, 60));
+    }
+
+    @Test
+    public void settledHeaderStaysPut() {
+        assertEquals(0, FixedScrollView.getAutoScrollTarget(0, 100, HEADER_HEIGHT, 0, 0));
+        assertEquals(HEADER_HEIGHT, FixedScrollView.getAutoScrollTarget(HEADER_HEIGHT, 100, HEADER_HEIGHT, 0, 0));
+    }
+
+    @Test
+    public void maxScrollHeightLimitsTheScrollRange() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 20, 100);
+        assertEquals(HEADER_HEIGHT, tree.scrollView.getMaxScrollY());
+
+        tree.scrollView.scrollTo(0, 1000);
+        assertEquals(HEADER_HEIGHT, tree.scrollView.getScrollY());
+    }
+
+    @Test
+    public void releasedDragSettlesOnTheNearestEdge() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 20, 100);
+        tree.scrollView.setAutoScroll(true);
+
+        TouchTraceReplayer.replay(tree, TouchTraceReplayer.slowDrag(TestViewTree.WIDTH / 2, 700, 200), 60);
+        assertEquals(HEADER_HEIGHT, tree.scrollView.getScrollY());
+
+        TouchTraceReplayer.replay(tree, TouchTraceReplayer.slowDrag(TestViewTree.WIDTH / 2, 400, -50), 60);
+        assertEquals(HEADER_HEIGHT, tree.scrollView.getScrollY());
+
+        TouchTraceReplayer.replay(tree, TouchTraceReplayer.slowDrag(TestViewTree.WIDTH / 2, 400, -200), 60);
+        assertEquals(0, tree.scrollView.getScrollY());
+    }
+}
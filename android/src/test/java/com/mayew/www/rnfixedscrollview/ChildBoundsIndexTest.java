@@ -0,0 +1,100 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class ChildBoundsIndexTest {
+    private ReactViewGroup mContent;
+    private ChildBoundsIndex mIndex;
+
+    @Before
+    public void setUp() {
+        mContent = new ReactViewGroup(RuntimeEnvironment.application);
+        TestViewTree.layout(mContent, 0, 0, 100, 1000);
+        // Added out of order, the index sorts them: children cover [0, 100), [100, 200), [300, 350)
+        addChild(300, 50);
+        addChild(0, 100);
+        addChild(100, 100);
+        mIndex = new ChildBoundsIndex();
+        mIndex.rebuild(mContent);
+    }
+
+    @Test
+    public void rebuildIndexesEveryChild() {
+        assertEquals(3, mIndex.size());
+        assertFalse(mIndex.isDirty());
+    }
+
+    @Test
+    public void movingWithinAChildCrossesNoEdge() {
+        assertFalse(mIndex.hasEdgeBetween(10, 90));
+        assertFalse(mIndex.hasEdgeBetween(90, 10));
+        assertFalse(mIndex.hasEdgeBetween(210, 290));
+    }
+
+    @Test
+    public void reachingAnEdgeCountsAsCrossingIt() {
+        assertTrue(mIndex.hasEdgeBetween(10, 100));
+        assertTrue(mIndex.hasEdgeBetween(100, 150));
+        assertTrue(mIndex.hasEdgeBetween(290, 300));
+        assertTrue(mIndex.hasEdgeBetween(400, 340));
+    }
+
+    @Test
+    public void notMovingCrossesNothing() {
+        assertFalse(mIndex.hasEdgeBetween(100, 100));
+    }
+
+    @Test
+    public void edgesAreInTheContentParentCoordinates() {
+        TestViewTree.layout(mContent, 0, 50, 100, 1000);
+        mIndex.rebuild(mContent);
+
+        assertFalse(mIndex.hasEdgeBetween(60, 140));
+        assertTrue(mIndex.hasEdgeBetween(60, 150));
+    }
+
+    @Test
+    public void invalidateMarksTheIndexDirty() {
+        mIndex.invalidate();
+        assertTrue(mIndex.isDirty());
+    }
+
+    @Test
+    public void childrenClippingTheirOwnSubviewsAreKeptApart() {
+        assertEquals(0, mIndex.getClippingChildCount());
+        assertFalse(mIndex.hasClippingChildIn(0, 1000));
+
+        ReactViewGroup clipping = new ReactViewGroup(RuntimeEnvironment.application);
+        mContent.addView(clipping);
+        TestViewTree.layout(clipping, 0, 400, 100, 500);
+        clipping.setRemoveClippedSubviews(true);
+        mIndex.rebuild(mContent);
+
+        assertEquals(1, mIndex.getClippingChildCount());
+        assertTrue(mIndex.hasClippingChildIn(850, 950));
+        assertTrue(mIndex.hasClippingChildIn(0, 401));
+        assertFalse(mIndex.hasClippingChildIn(0, 400));
+        assertFalse(mIndex.hasClippingChildIn(900, 1000));
+    }
+
+    private void addChild(int top, int height) {
+        View child = new View(RuntimeEnvironment.application);
+        mContent.addView(child);
+        TestViewTree.layout(child, 0, top, 100, height);
+    }
+}
@@ -0,0 +1,193 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Looper;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.views.scroll.ReactHorizontalScrollView;
+import com.facebook.react.views.scroll.ScrollEventType;
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * FixedHorizontalScrollView shares the fling scroller, the gesture classification and the scroll
+ * event throttle with FixedScrollView. A leading header of {@link #HEADER_WIDTH} is followed by
+ * an inner HorizontalScrollView filling the viewport.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FixedHorizontalScrollViewTest {
+    private static final int WIDTH = TestViewTree.WIDTH;
+    private static final int HEIGHT = TestViewTree.HEIGHT;
+    private static final int HEADER_WIDTH = 300;
+    private static final float Y = HEIGHT / 2;
+    private static final String MOMENTUM_BEGIN = ScrollEventType.MOMENTUM_BEGIN.getJSEventName();
+    private static final String MOMENTUM_END = ScrollEventType.MOMENTUM_END.getJSEventName();
+
+    private final List<String> mEvents = new ArrayList<>();
+    private final Canvas mCanvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    private TestViewTree.TestRootView mRootView;
+    private FixedHorizontalScrollView mScrollView;
+    private ReactHorizontalScrollView mInner;
+    private long mTime;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        ThemedReactContext context = TestViewTree.createReactContext(activity, mEvents);
+        mRootView = new TestViewTree.TestRootView(context);
+        mScrollView = new FixedHorizontalScrollView(context);
+        ReactViewGroup content = new ReactViewGroup(context);
+        ReactViewGroup header = new ReactViewGroup(context);
+        mInner = new ReactHorizontalScrollView(context);
+        ReactViewGroup innerContent = new ReactViewGroup(context);
+        mRootView.addView(mScrollView, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        mScrollView.addView(content);
+        content.addView(header);
+        content.addView(mInner);
+        mInner.addView(innerContent);
+        mScrollView.setMaxScrollWidth(HEADER_WIDTH);
+        activity.setContentView(mRootView);
+        runFrame();
+
+        TestViewTree.layout(content, 0, 0, HEADER_WIDTH + WIDTH, HEIGHT);
+        TestViewTree.layout(header, 0, 0, HEADER_WIDTH, HEIGHT);
+        TestViewTree.layout(mInner, HEADER_WIDTH, 0, WIDTH, HEIGHT);
+        TestViewTree.layout(innerContent, 0, 0, 20 * WIDTH, HEIGHT);
+        runFrame();
+    }
+
+    @Test
+    public void flingCollapsesTheHeaderAndHandsTheRestToTheInnerList() {
+        mScrollView.setSendMomentumEvents(true);
+
+        mScrollView.fling(4000);
+        runFrames(180);
+
+        assertEquals(HEADER_WIDTH, mScrollView.getScrollX());
+        assertTrue(mInner.getScrollX() > 0);
+        assertEquals(1, countEvents(MOMENTUM_BEGIN));
+        assertEquals(1, countEvents(MOMENTUM_END));
+    }
+
+    @Test
+    public void nothingIsInterceptedWithinTheTouchSlop() {
+        assertFalse(intercept(MotionEvent.ACTION_DOWN, 400, Y));
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 397, Y));
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 394, Y + 1));
+    }
+
+    @Test
+    public void horizontalSwipeCollapsesTheHeaderFirst() {
+        intercept(MotionEvent.ACTION_DOWN, 400, Y);
+
+        assertTrue(intercept(MotionEvent.ACTION_MOVE, 370, Y + 2));
+        assertEquals(1, mScrollView.getHorizontalGestureCount());
+    }
+
+    @Test
+    public void swipeTowardsTheStartIsLeftToTheListOnceCollapsed() {
+        mScrollView.scrollTo(HEADER_WIDTH, 0);
+        intercept(MotionEvent.ACTION_DOWN, 400, Y);
+
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 370, Y));
+    }
+
+    @Test
+    public void verticalAndDiagonalSwipesAreLeftAlone() {
+        intercept(MotionEvent.ACTION_DOWN, 400, Y);
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 398, Y - 30));
+        // Locked vertical for the rest of the gesture
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 300, Y - 40));
+
+        intercept(MotionEvent.ACTION_DOWN, 400, Y);
+        assertFalse(intercept(MotionEvent.ACTION_MOVE, 380, Y - 20));
+        assertEquals(0, mScrollView.getHorizontalGestureCount());
+    }
+
+    @Test
+    public void scrollEventsAreThrottled() {
+        mScrollView.setScrollEventThrottle(1000);
+        for (int i = 0; i < 10; i++) {
+            runFrame();
+            mScrollView.scrollTo(mScrollView.getScrollX() + 10, 0);
+        }
+
+        assertEquals(1, mScrollView.getEmittedScrollEventCount());
+
+        // The last offset is flushed at the end of the window
+        runFrames(1000 / (int) TestViewTree.FRAME_INTERVAL_MS + 1);
+        assertEquals(2, mScrollView.getEmittedScrollEventCount());
+        assertEquals(10, mScrollView.getEmittedScrollEventCount() + mScrollView.getDroppedScrollEventCount());
+    }
+
+    @Test
+    public void commandsReadTheirOffsetsFromX() {
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(mScrollView.getContext());
+
+        FixedScrollCommandHelper.receiveCommand(
+                mScrollView, FixedScrollCommandHelper.COMMAND_SCROLL_BY, JavaOnlyArray.of(100.0, 999.0, false));
+        assertEquals(100, mScrollView.getScrollX());
+
+        JavaOnlyMap inner = JavaOnlyMap.of("type", "scrollTo", "x", 500.0, "inner", true);
+        JavaOnlyMap outer = JavaOnlyMap.of("type", "scrollBy", "x", 50.0, "y", 999.0);
+        FixedScrollCommandHelper.receiveCommand(
+                mScrollView, FixedScrollCommandHelper.COMMAND_BATCH, JavaOnlyArray.of(JavaOnlyArray.of(inner, outer)));
+        assertEquals(150, mScrollView.getScrollX());
+        assertEquals(500, mInner.getScrollX());
+        assertEquals(0, mScrollView.getScrollY());
+    }
+
+    /** Feeds {@param action} at ({@param x}, {@param y}) 10ms after the previous event. */
+    private boolean intercept(int action, float x, float y) {
+        MotionEvent ev = MotionEvent.obtain(0, mTime += 10, action, x, y, 0);
+        boolean intercepted = mScrollView.onInterceptTouchEvent(ev);
+        ev.recycle();
+        return intercepted;
+    }
+
+    private void runFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(TestViewTree.FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        mRootView.draw(mCanvas);
+    }
+
+    private void runFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            runFrame();
+        }
+    }
+
+    private int countEvents(String eventName) {
+        int count = 0;
+        for (String event : mEvents) {
+            if (event.equals(eventName)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
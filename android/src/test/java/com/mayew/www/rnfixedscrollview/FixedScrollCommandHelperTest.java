@@ -0,0 +1,133 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.widget.ScrollView;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A header of {@link #HEADER_HEIGHT} above an inner list, at the default density so offsets in
+ * dp are in px too.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FixedScrollCommandHelperTest {
+    private static final int HEADER_HEIGHT = 300;
+
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+    private ScrollView mInner;
+
+    @Before
+    public void setUp() {
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(RuntimeEnvironment.application);
+        mTree = TestViewTree.create(HEADER_HEIGHT, 1, 20, 100);
+        mScrollView = mTree.scrollView;
+        mInner = mTree.innerScrollView;
+    }
+
+    @Test
+    public void outerOperationsAreFoldedIntoOneScroll() {
+        int events = mTree.countEvents(TestViewTree.SCROLL_EVENT);
+
+        batch(
+                operation("scrollBy", 100),
+                operation("scrollBy", 50),
+                operation("collapseHeader", 0),
+                operation("scrollBy", -100));
+        mTree.runFrame();
+
+        assertEquals(HEADER_HEIGHT - 100, mScrollView.getScrollY());
+        assertEquals(events + 1, mTree.countEvents(TestViewTree.SCROLL_EVENT));
+    }
+
+    @Test
+    public void foldedTargetIsClampedToTheHeader() {
+        batch(operation("scrollTo", 200), operation("scrollBy", 500));
+
+        assertEquals(HEADER_HEIGHT, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void innerOperationsGoToTheInnerListAsTheyCome() {
+        JavaOnlyMap skipped = operation("collapseHeader", 0);
+        skipped.putBoolean("inner", true);
+
+        batch(innerOperation("scrollTo", 500), innerOperation("scrollBy", 100), skipped);
+
+        assertEquals(600, mInner.getScrollY());
+        assertEquals(0, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void innerAndOuterOperationsMix() {
+        batch(operation("collapseHeader", 0), innerOperation("scrollToEnd", 0));
+
+        assertEquals(HEADER_HEIGHT, mScrollView.getScrollY());
+        assertEquals(20 * 100 - TestViewTree.HEIGHT, mInner.getScrollY());
+    }
+
+    @Test
+    public void scrollByOnlyMovesAlongTheViewAxis() {
+        receive(FixedScrollCommandHelper.COMMAND_SCROLL_BY, JavaOnlyArray.of(999.0, 40.0, false));
+
+        assertEquals(40, mScrollView.getScrollY());
+        assertEquals(0, mScrollView.getScrollX());
+    }
+
+    @Test
+    public void headerCommandsDefaultToNotAnimated() {
+        receive(FixedScrollCommandHelper.COMMAND_COLLAPSE_HEADER, new JavaOnlyArray());
+        assertEquals(HEADER_HEIGHT, mScrollView.getScrollY());
+
+        receive(FixedScrollCommandHelper.COMMAND_EXPAND_HEADER, null);
+        assertEquals(0, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void commandsWithoutTheirArgumentsAreIgnored() {
+        receive(FixedScrollCommandHelper.COMMAND_SCROLL_BY, null);
+        receive(FixedScrollCommandHelper.COMMAND_SCROLL_BY, JavaOnlyArray.of(0.0, 40.0));
+        receive(FixedScrollCommandHelper.COMMAND_BATCH, null);
+        receive(FixedScrollCommandHelper.COMMAND_BATCH, new JavaOnlyArray());
+
+        assertEquals(0, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void stockCommandsAreLeftToTheCaller() {
+        assertFalse(FixedScrollCommandHelper.receiveCommand(mScrollView, 1, null));
+    }
+
+    private void receive(int commandId, JavaOnlyArray args) {
+        assertTrue(FixedScrollCommandHelper.receiveCommand(mScrollView, commandId, args));
+    }
+
+    private void batch(JavaOnlyMap... operations) {
+        receive(FixedScrollCommandHelper.COMMAND_BATCH, JavaOnlyArray.of(JavaOnlyArray.of((Object[]) operations)));
+    }
+
+    private static JavaOnlyMap operation(String type, double y) {
+        return JavaOnlyMap.of("type", type, "y", y);
+    }
+
+    private static JavaOnlyMap innerOperation(String type, double y) {
+        JavaOnlyMap operation = operation(type, y);
+        operation.putBoolean("inner", true);
+        return operation;
+    }
+}
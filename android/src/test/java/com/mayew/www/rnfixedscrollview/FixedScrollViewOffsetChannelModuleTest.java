@@ -0,0 +1,95 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.react.uimanager.PixelUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The benchmark prints the cost of a read next to the one of building the map the module used to
+ * return for each read.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class FixedScrollViewOffsetChannelModuleTest {
+    private static final int TAG = 42;
+    private static final int READS = 100000;
+
+    private FixedScrollViewOffsetChannelModule mModule;
+
+    @Before
+    public void setUp() {
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(RuntimeEnvironment.application);
+        mModule = new FixedScrollViewOffsetChannelModule(new ReactApplicationContext(RuntimeEnvironment.application));
+    }
+
+    @After
+    public void tearDown() {
+        ScrollOffsetChannel.unregister(TAG);
+    }
+
+    @Test
+    public void viewWithoutAChannelReadsZero() {
+        assertEquals(0, mModule.getOffsetY(TAG), 0);
+    }
+
+    @Test
+    public void offsetIsReadInDp() {
+        ScrollOffsetChannel.register(TAG).write(0, 300, 0, 2.5f);
+
+        assertEquals(PixelUtil.toDIPFromPixel(300), mModule.getOffsetY(TAG), 0.001);
+    }
+
+    @Test
+    public void readFollowsTheLatestWrite() {
+        ScrollOffsetChannel channel = ScrollOffsetChannel.register(TAG);
+        channel.write(0, 300, 0, 0);
+        channel.write(0, 320, 0, 0);
+
+        assertEquals(PixelUtil.toDIPFromPixel(320), mModule.getOffsetY(TAG), 0.001);
+    }
+
+    @Test
+    public void readMatchesTheMapItReplaces() {
+        ScrollOffsetChannel channel = ScrollOffsetChannel.register(TAG);
+        double sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            channel.write(0, i, 0, 0);
+            sum += mModule.getOffsetY(TAG);
+        }
+        long primitive = System.nanoTime() - start;
+
+        double mapSum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            channel.write(0, i, 0, 0);
+            mapSum += readAsMap(channel).getDouble("y");
+        }
+        long map = System.nanoTime() - start;
+
+        System.out.println("offsetChannel: ns/read double=" + primitive / READS + " map=" + map / READS);
+        assertEquals(mapSum, sum, 0.001);
+    }
+
+    /** What each read built before it returned a double. */
+    private static JavaOnlyMap readAsMap(ScrollOffsetChannel channel) {
+        JavaOnlyMap offset = new JavaOnlyMap();
+        offset.putInt("sequence", channel.getSequence());
+        offset.putDouble("x", PixelUtil.toDIPFromPixel(channel.getX()));
+        offset.putDouble("y", PixelUtil.toDIPFromPixel(channel.getY()));
+        offset.putDouble("velocityX", channel.getXVelocity());
+        offset.putDouble("velocityY", channel.getYVelocity());
+        return offset;
+    }
+}
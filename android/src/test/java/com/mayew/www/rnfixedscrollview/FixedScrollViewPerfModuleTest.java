@@ -0,0 +1,61 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class FixedScrollViewPerfModuleTest {
+    private FixedScrollViewPerfModule mModule;
+
+    @Before
+    public void setUp() {
+        ScrollPerfMetrics.clear();
+        mModule = new FixedScrollViewPerfModule(new ReactApplicationContext(RuntimeEnvironment.application));
+    }
+
+    @Test
+    public void unknownTagResolvesNullWithoutRegisteringIt() {
+        Promise promise = mock(Promise.class);
+        mModule.getMetrics("unknown", promise);
+
+        verify(promise).resolve(null);
+        assertNull(ScrollPerfMetrics.findForTag("unknown"));
+    }
+
+    @Test
+    public void resetMetricsResetsTheTag() {
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.forTag("list");
+        metrics.recordScrollEvent();
+        mModule.resetMetrics("list");
+
+        assertEquals(0, metrics.getScrollEventCount());
+    }
+
+    @Test
+    public void resettingAnUnknownTagDoesNotRegisterIt() {
+        mModule.resetMetrics("unknown");
+
+        assertNull(ScrollPerfMetrics.findForTag("unknown"));
+    }
+
+    @Test
+    public void destroyingTheInstanceDropsTheMetrics() {
+        ScrollPerfMetrics.forTag("list");
+        mModule.onCatalystInstanceDestroy();
+
+        assertEquals(0, ScrollPerfMetrics.getTags().length);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays the gestures FixedScrollView special-cases on a header of {@link #HEADER_HEIGHT} above
+ * an inner list, starting on the list. The results are printed, so the same tests double as a
+ * benchmark of the per-event and per-frame cost for trees of different sizes.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FixedScrollViewTraceTest {
+    private static final int HEADER_HEIGHT = 300;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int FRAMES = 180;
+    private static final float X = TestViewTree.WIDTH / 2;
+    private static final float LIST_Y = 700;
+
+    @Test
+    public void slowDragCollapsesTheHeaderPartially() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT);
+        TouchTraceReplayer.Result result = replay("slowDrag", tree,
+                TouchTraceReplayer.slowDrag(X, LIST_Y, 200));
+
+        assertTrue(result.endScrollY > 0);
+        assertTrue(result.endScrollY < HEADER_HEIGHT);
+        assertEquals(0, result.innerEndScrollY);
+        assertTrue(result.emittedScrollEvents > 0);
+    }
+
+    @Test
+    public void fastFlingCollapsesTheHeaderAndHandsTheRestToTheList() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT);
+        TouchTraceReplayer.Result result = replay("fastFling", tree,
+                TouchTraceReplayer.fastFling(X, LIST_Y, 250));
+
+        assertEquals(HEADER_HEIGHT, result.endScrollY);
+        assertTrue(result.innerEndScrollY > 0);
+    }
+
+    @Test
+    public void diagonalSwipeIsLeftToTheList() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT);
+        TouchTraceReplayer.Result result = replay("diagonalSwipe", tree,
+                TouchTraceReplayer.diagonalSwipe(TestViewTree.WIDTH - 40, LIST_Y, 200));
+
+        assertEquals(0, result.endScrollY);
+        assertEquals(0, tree.scrollView.getVerticalGestureCount());
+    }
+
+    @Test
+    public void collapseAndHandoffInNestedMode() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT);
+        tree.scrollView.setNestedScrollMode(FixedScrollView.NESTED_SCROLL_MODE_NESTED);
+        TouchTraceReplayer.Result result = replay("collapseAndHandoff", tree,
+                TouchTraceReplayer.collapseAndHandoff(X, LIST_Y, HEADER_HEIGHT));
+
+        assertEquals(HEADER_HEIGHT, result.endScrollY);
+        assertTrue(result.innerEndScrollY > 0);
+    }
+
+    @Test
+    public void replayIsDeterministic() {
+        TouchTraceReplayer.Result first = replay("fastFling", TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT),
+                TouchTraceReplayer.fastFling(X, LIST_Y, 250));
+        TouchTraceReplayer.Result second = replay("fastFling", TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT),
+                TouchTraceReplayer.fastFling(X, LIST_Y, 250));
+
+        assertEquals(first.endScrollY, second.endScrollY);
+        assertEquals(first.innerEndScrollY, second.innerEndScrollY);
+        assertEquals(first.dispatchedEvents, second.dispatchedEvents);
+        assertEquals(first.emittedScrollEvents, second.emittedScrollEvents);
+    }
+
+    @Test
+    public void treeSizeDoesNotChangeTheOutcome() {
+        TouchTraceReplayer.Result small = null;
+        int smallLookups = 0;
+        for (int size : new int[] {10, 100, 1000}) {
+            TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, size, size, ITEM_HEIGHT);
+            TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree,
+                    TouchTraceReplayer.fastFling(X, LIST_Y, 250), FRAMES);
+            int lookups = tree.scrollView.getNestedScrollTargetLookupCount();
+            if (small == null) {
+                small = result;
+                smallLookups = lookups;
+            } else {
+                assertEquals(small.endScrollY, result.endScrollY);
+                assertEquals(small.emittedScrollEvents, result.emittedScrollEvents);
+                assertEquals(smallLookups, lookups);
+            }
+        }
+    }
+
+    /**
+     * Taps on the list after layout passes, with a nestedScrollTargetId that never mounts. Only
+     * the first finger-down walks the content, whatever its size.
+     */
+    @Test
+    public void fingerDownDoesNotWalkTheTreeAgain() {
+        TouchTraceReplayer.Trace tap = TouchTraceReplayer.line(X, LIST_Y, X, LIST_Y, 50, 0);
+        for (int size : new int[] {10, 100, 1000, 5000}) {
+            TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, size, size, ITEM_HEIGHT);
+            tree.scrollView.setNestedScrollTargetId("missing");
+            TouchTraceReplayer.replay(tree, tap, 1);
+            assertEquals(1, tree.scrollView.getNestedScrollTargetLookupCount());
+
+            TouchTraceReplayer.Result taps = new TouchTraceReplayer.Result();
+            for (int i = 0; i < 20; i++) {
+                tree.content.requestLayout();
+                TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, tap, 1);
+                taps.eventCount += result.eventCount;
+                taps.eventTimeNs += result.eventTimeNs;
+            }
+            System.out.println("fingerDown/" + size + ": ns/event=" + taps.getNsPerEvent());
+            assertEquals(1, tree.scrollView.getNestedScrollTargetLookupCount());
+        }
+    }
+
+    private static TouchTraceReplayer.Result replay(
+            String name, TestViewTree tree, TouchTraceReplayer.Trace trace) {
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, trace, FRAMES);
+        System.out.println(name + ": " + result);
+        return result;
+    }
+}
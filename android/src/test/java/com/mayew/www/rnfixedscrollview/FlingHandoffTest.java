@@ -0,0 +1,127 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.widget.ScrollView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flings handed off between the header and the inner list keep the distance a single fling
+ * would have covered. The flings come from touch traces, the reference distance from the same
+ * trace replayed on a plain list without a header.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FlingHandoffTest {
+    private static final int HEADER_HEIGHT = 300;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int FRAMES = 180;
+    private static final float X = TestViewTree.WIDTH / 2;
+    /** Share of the reference distance the handed off flings may be off by. */
+    private static final float TOLERANCE = 0.15f;
+
+    @Test
+    public void collapsingFlingContinuesInTheListWithTheSameDistance() {
+        TouchTraceReplayer.Trace trace = TouchTraceReplayer.fastFling(X, 700, 250);
+        int single = replayOnPlainList(trace, 0);
+
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 200, ITEM_HEIGHT);
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, trace, FRAMES);
+
+        assertEquals(HEADER_HEIGHT, result.endScrollY);
+        assertTrue(result.innerEndScrollY > 0);
+        assertEquals(single, getDistance(result), single * TOLERANCE);
+    }
+
+    @Test
+    public void collapsingFlingContinuesInTheListInNestedMode() {
+        TouchTraceReplayer.Trace trace = TouchTraceReplayer.fastFling(X, 700, 250);
+        int single = replayOnPlainList(trace, 0);
+
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 200, ITEM_HEIGHT);
+        tree.scrollView.setNestedScrollMode(FixedScrollView.NESTED_SCROLL_MODE_NESTED);
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, trace, FRAMES);
+
+        assertEquals(HEADER_HEIGHT, result.endScrollY);
+        assertTrue(result.innerEndScrollY > 0);
+        assertEquals(single, getDistance(result), single * TOLERANCE);
+    }
+
+    @Test
+    public void slowFlingStopsWithTheHeaderPartlyCollapsed() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 100, ITEM_HEIGHT);
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(
+                tree, TouchTraceReplayer.line(X, 700, X, 600, 400, 20), FRAMES);
+
+        assertTrue(result.endScrollY > 0);
+        assertTrue(result.endScrollY < HEADER_HEIGHT);
+        assertEquals(0, result.innerEndScrollY);
+    }
+
+    /**
+     * A fling towards the top of the list is split between the rest of the list and the header.
+     * The list starts half the reference distance down, so the fling has to go on with the
+     * header, which is as tall as the whole distance, to cover the other half.
+     */
+    @Test
+    public void listFlingReachingItsTopExpandsTheHeaderInNestedMode() {
+        TouchTraceReplayer.Trace trace = TouchTraceReplayer.fastFling(X, 200, -120);
+        int single = -replayOnPlainList(trace, 5000);
+        int headerHeight = single;
+
+        TestViewTree tree = TestViewTree.create(headerHeight, 1, 200, ITEM_HEIGHT);
+        tree.scrollView.setNestedScrollMode(FixedScrollView.NESTED_SCROLL_MODE_NESTED);
+        ScrollView inner = tree.innerScrollView;
+        tree.scrollView.scrollTo(0, headerHeight);
+        inner.scrollTo(0, single / 2);
+        tree.runFrame();
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, trace, FRAMES);
+
+        assertEquals(0, result.innerEndScrollY);
+        assertTrue(result.endScrollY < headerHeight);
+        assertTrue(result.endScrollY > 0);
+        assertEquals(single, -getDistance(result), single * TOLERANCE);
+    }
+
+    /**
+     * With the intercept heuristics the header takes a downward drag before the list does, so a
+     * list under a collapsed header never flings towards its top and needs no handoff.
+     */
+    @Test
+    public void downwardFlingOnTheListExpandsTheHeaderFirstInInterceptMode() {
+        TestViewTree tree = TestViewTree.create(HEADER_HEIGHT, 1, 200, ITEM_HEIGHT);
+        tree.scrollView.scrollTo(0, HEADER_HEIGHT);
+        tree.innerScrollView.scrollTo(0, 600);
+        tree.runFrame();
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(
+                tree, TouchTraceReplayer.fastFling(X, 200, -120), FRAMES);
+
+        assertTrue(result.endScrollY < HEADER_HEIGHT);
+        assertEquals(600, result.innerEndScrollY);
+    }
+
+    /**
+     * Distance the same trace scrolls a list without a header or an inner ScrollView, starting at
+     * {@param startScrollY}.
+     */
+    private static int replayOnPlainList(TouchTraceReplayer.Trace trace, int startScrollY) {
+        TestViewTree tree = TestViewTree.createStacked(400, ITEM_HEIGHT);
+        tree.scrollView.scrollTo(0, startScrollY);
+        tree.runFrame();
+        TouchTraceReplayer.Result result = TouchTraceReplayer.replay(tree, trace, FRAMES);
+        int distance = result.endScrollY - result.startScrollY;
+        assertTrue(distance != 0);
+        return distance;
+    }
+
+    private static int getDistance(TouchTraceReplayer.Result result) {
+        return (result.endScrollY - result.startScrollY) + (result.innerEndScrollY - result.innerStartScrollY);
+    }
+}
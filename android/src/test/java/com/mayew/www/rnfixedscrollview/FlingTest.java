@@ -0,0 +1,114 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+
+import com.facebook.react.views.scroll.ScrollEventType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FlingTest {
+    private static final float X = TestViewTree.WIDTH / 2;
+
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+    private int mOverflingDistance;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(100, 100);
+        mScrollView = mTree.scrollView;
+        mOverflingDistance = ViewConfiguration.get(mTree.context).getScaledOverflingDistance();
+    }
+
+    @Test
+    public void flingStopsAtTheBottom() {
+        int maxScrollY = mScrollView.getMaxScrollY();
+        mScrollView.scrollTo(0, maxScrollY - 100);
+        mScrollView.fling(5000);
+        for (int i = 0; i < 180; i++) {
+            mTree.runFrame();
+            assertTrue(mScrollView.getScrollY() <= maxScrollY);
+        }
+        assertEquals(maxScrollY, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void flingPastTheTopOverscrollsByTheOverflingDistanceAtMost() {
+        mScrollView.scrollTo(0, 100);
+        mScrollView.fling(-5000);
+        for (int i = 0; i < 180; i++) {
+            mTree.runFrame();
+            assertTrue(mScrollView.getScrollY() >= -mOverflingDistance);
+        }
+        assertEquals(0, mScrollView.getScrollY());
+    }
+
+    @Test
+    public void decelerationRateShortensTheFling() {
+        mScrollView.fling(3000);
+        mTree.runFrames(180);
+        int normal = mScrollView.getScrollY();
+
+        mScrollView.scrollTo(0, 0);
+        mScrollView.setDecelerationRate(0.9f);
+        mScrollView.fling(3000);
+        mTree.runFrames(180);
+
+        assertTrue(mScrollView.getScrollY() < normal);
+    }
+
+    @Test
+    public void fingerDownCatchesTheFlingWithoutClickingTheChildUnderIt() {
+        final int[] clicks = {0};
+        View.OnClickListener listener = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                clicks[0]++;
+            }
+        };
+        for (int i = 0; i < mTree.content.getChildCount(); i++) {
+            mTree.content.getChildAt(i).setOnClickListener(listener);
+        }
+
+        mScrollView.fling(5000);
+        mTree.runFrames(5);
+        int caughtY = mScrollView.getScrollY();
+        tap(400);
+        mTree.runFrames(30);
+
+        assertEquals(0, clicks[0]);
+        assertEquals(caughtY, mScrollView.getScrollY());
+        assertEquals(1, mTree.countEvents(ScrollEventType.BEGIN_DRAG.getJSEventName()));
+        assertEquals(1, mTree.countEvents(ScrollEventType.END_DRAG.getJSEventName()));
+        assertEquals(1, mTree.rootView.nativeGestureCount);
+
+        // Nothing is moving any more, the next tap is a click
+        tap(400);
+        mTree.runFrames(5);
+        assertEquals(1, clicks[0]);
+    }
+
+    private void tap(float y) {
+        long downTime = SystemClock.uptimeMillis();
+        MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, X, y, 0);
+        mTree.rootView.dispatchTouchEvent(down);
+        down.recycle();
+        MotionEvent up = MotionEvent.obtain(downTime, downTime + 50, MotionEvent.ACTION_UP, X, y, 0);
+        mTree.rootView.dispatchTouchEvent(up);
+        up.recycle();
+    }
+}
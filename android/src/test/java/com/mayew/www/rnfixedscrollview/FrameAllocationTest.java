@@ -0,0 +1,66 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A frame of a running fling must not allocate more than a frame where nothing moves. The test
+ * harness itself allocates on every frame, so the medians of both are compared rather than
+ * expecting zero bytes.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FrameAllocationTest {
+    private static final int FRAMES = 30;
+    /** Noise allowed between the median idle and fling frames, well below any allocated object. */
+    private static final long SLACK_BYTES = 16;
+
+    private TestViewTree mTree;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(400, 100);
+        // Scroll events go through a mocked dispatcher, which allocates for every call it records
+        mTree.scrollView.setScrollEventThrottle(60 * 1000);
+
+        // Warms up the pools and caches a first fling fills
+        mTree.scrollView.fling(6000);
+        mTree.runFrames(180);
+    }
+
+    @Test
+    public void steadyStateFlingFramesDoNotAllocate() {
+        long[] idle = TouchTraceReplayer.measureFrameAllocations(mTree, FRAMES);
+        if (idle == null) {
+            return;
+        }
+
+        mTree.scrollView.fling(6000);
+        mTree.runFrames(5);
+        int scrollY = mTree.scrollView.getScrollY();
+        long[] fling = TouchTraceReplayer.measureFrameAllocations(mTree, FRAMES);
+        // Still flinging while measured
+        assertNotEquals(scrollY, mTree.scrollView.getScrollY());
+
+        long idleMedian = median(idle);
+        long flingMedian = median(fling);
+        System.out.println("bytes/frame idle=" + idleMedian + " fling=" + flingMedian);
+        assertTrue(flingMedian <= idleMedian + SLACK_BYTES);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,131 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class GestureClassifierTest {
+    private static final int TOUCH_SLOP = 8;
+
+    private GestureClassifier mClassifier;
+    private long mTime;
+
+    @Before
+    public void setUp() {
+        mClassifier = new GestureClassifier(TOUCH_SLOP);
+    }
+
+    @Test
+    public void nothingIsDecidedWithinTheTouchSlop() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        feed(MotionEvent.ACTION_MOVE, 103, 105);
+
+        assertEquals(GestureClassifier.DIRECTION_UNDECIDED, mClassifier.getDirection());
+        assertFalse(mClassifier.isPastTouchSlop());
+    }
+
+    @Test
+    public void firstClearSamplePastTheSlopLocksTheDirection() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        feed(MotionEvent.ACTION_MOVE, 101, 90);
+
+        assertEquals(GestureClassifier.DIRECTION_VERTICAL, mClassifier.getDirection());
+        assertEquals(-10f, mClassifier.getDeltaY(), 0);
+
+        // Locked for the rest of the gesture
+        feed(MotionEvent.ACTION_MOVE, 200, 90);
+        assertEquals(GestureClassifier.DIRECTION_VERTICAL, mClassifier.getDirection());
+    }
+
+    @Test
+    public void horizontalSampleLocksHorizontal() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        feed(MotionEvent.ACTION_MOVE, 115, 102);
+
+        assertEquals(GestureClassifier.DIRECTION_HORIZONTAL, mClassifier.getDirection());
+    }
+
+    @Test
+    public void diagonalSamplesLeaveTheGestureUndecidedPastTheSlop() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        feed(MotionEvent.ACTION_MOVE, 110, 110);
+        feed(MotionEvent.ACTION_MOVE, 120, 118);
+
+        assertEquals(GestureClassifier.DIRECTION_UNDECIDED, mClassifier.getDirection());
+        assertTrue(mClassifier.isPastTouchSlop());
+    }
+
+    @Test
+    public void eventSeenFromInterceptAndTouchIsCountedOnce() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        MotionEvent move = MotionEvent.obtain(0, mTime += 10, MotionEvent.ACTION_MOVE, 100, 80, 0);
+        mClassifier.onTouchEvent(move);
+        mClassifier.onTouchEvent(move);
+        move.recycle();
+
+        assertEquals(1, mClassifier.getVerticalGestureCount());
+    }
+
+    @Test
+    public void fingerDownStartsANewGesture() {
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+        feed(MotionEvent.ACTION_MOVE, 100, 50);
+        feed(MotionEvent.ACTION_UP, 100, 50);
+        feed(MotionEvent.ACTION_DOWN, 100, 100);
+
+        assertEquals(GestureClassifier.DIRECTION_UNDECIDED, mClassifier.getDirection());
+        assertFalse(mClassifier.isPastTouchSlop());
+        assertEquals(0f, mClassifier.getDeltaY(), 0);
+
+        feed(MotionEvent.ACTION_MOVE, 150, 100);
+        assertEquals(1, mClassifier.getVerticalGestureCount());
+        assertEquals(1, mClassifier.getHorizontalGestureCount());
+    }
+
+    @Test
+    public void velocityFollowsTheSamples() {
+        feed(MotionEvent.ACTION_DOWN, 100, 400);
+        for (int i = 1; i <= 10; i++) {
+            feed(MotionEvent.ACTION_MOVE, 100, 400 - i * 20);
+        }
+        feed(MotionEvent.ACTION_UP, 100, 180);
+
+        // 20px every 10ms, upwards
+        assertEquals(-2f, mClassifier.getYVelocity(), 0.2f);
+        assertEquals(0f, mClassifier.getXVelocity(), 0.01f);
+    }
+
+    @Test
+    public void recycledClassifierKeepsWorking() {
+        feed(MotionEvent.ACTION_DOWN, 100, 400);
+        feed(MotionEvent.ACTION_MOVE, 100, 300);
+        mClassifier.recycle();
+        mClassifier.recycle();
+
+        feed(MotionEvent.ACTION_DOWN, 100, 400);
+        for (int i = 1; i <= 10; i++) {
+            feed(MotionEvent.ACTION_MOVE, 100, 400 - i * 20);
+        }
+        feed(MotionEvent.ACTION_UP, 100, 180);
+
+        assertEquals(2, mClassifier.getVerticalGestureCount());
+        assertEquals(-2f, mClassifier.getYVelocity(), 0.2f);
+    }
+
+    /** Feeds a sample 10ms after the previous one. */
+    private void feed(int action, float x, float y) {
+        MotionEvent ev = MotionEvent.obtain(0, mTime += 10, action, x, y, 0);
+        mClassifier.onTouchEvent(ev);
+        ev.recycle();
+    }
+}
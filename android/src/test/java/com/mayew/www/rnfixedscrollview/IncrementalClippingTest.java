@@ -0,0 +1,118 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Incremental clipping skips the content's clipping pass on scrolls that make no child enter or
+ * leave the viewport, but must still leave the content clipped as the full pass would. The
+ * benchmark prints the cost of a scrolled frame for contents of 100 to 10k children.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class IncrementalClippingTest {
+    private static final int ROW_HEIGHT = 100;
+    private static final int STEP = 7;
+    private static final int FRAMES = 120;
+
+    @Test
+    public void scrollWithinAChildSkipsTheContentPass() {
+        TestViewTree tree = createClipped(100, true);
+        int updates = tree.scrollView.getClippingUpdateCount();
+
+        // Within row 10: no row edge crosses either viewport edge
+        scrollTo(tree, 1010);
+        scrollTo(tree, 1050);
+        int afterFirstScroll = tree.scrollView.getClippingUpdateCount();
+        scrollTo(tree, 1090);
+
+        assertTrue(afterFirstScroll - updates <= 1);
+        assertEquals(afterFirstScroll, tree.scrollView.getClippingUpdateCount());
+    }
+
+    @Test
+    public void nestedClippingGroupIsStillClippedOnScroll() {
+        TestViewTree tree = TestViewTree.createStacked(1, ROW_HEIGHT);
+        ReactViewGroup nested = new ReactViewGroup(tree.context);
+        tree.content.addView(nested);
+        TestViewTree.layout(tree.content, 0, 0, TestViewTree.WIDTH, ROW_HEIGHT + 50 * ROW_HEIGHT + ROW_HEIGHT);
+        TestViewTree.layout(nested, 0, ROW_HEIGHT, TestViewTree.WIDTH, 50 * ROW_HEIGHT);
+        TestViewTree.addRows(nested, 50, ROW_HEIGHT);
+        View row19 = nested.getChildAt(19);
+        nested.setRemoveClippedSubviews(true);
+        tree.content.setRemoveClippedSubviews(true);
+        tree.scrollView.setIncrementalClipping(true);
+        tree.scrollView.setRemoveClippedSubviews(true);
+        tree.runFrame();
+
+        // Viewport [1000, 1800): nested row 19 is at [2000, 2100) in the content
+        scrollTo(tree, 1000);
+        assertNull(row19.getParent());
+
+        // Viewport [1250, 2050): none of the content's own children moves in or out
+        scrollTo(tree, 1250);
+        assertSame(nested, row19.getParent());
+    }
+
+    @Test
+    public void clippingPassesDoNotDependOnTheContentSize() {
+        int passes = -1;
+        for (int size : new int[] {100, 1000, 10000}) {
+            long full = benchmark(size, false);
+            TestViewTree tree = createClipped(size, true);
+            long incremental = benchmark(tree);
+            System.out.println("clipping/" + size + ": ns/frame full=" + full + " incremental=" + incremental);
+
+            int forwarded = tree.scrollView.getClippingUpdateCount();
+            // 7px per frame over 100px rows crosses an edge on roughly every 14th frame per viewport edge
+            assertTrue(forwarded < FRAMES / 2);
+            if (passes < 0) {
+                passes = forwarded;
+            }
+            assertEquals(passes, forwarded);
+        }
+    }
+
+    private static long benchmark(int size, boolean incremental) {
+        return benchmark(createClipped(size, incremental));
+    }
+
+    /** Scrolls down {@link #STEP} per frame and returns the time spent per scroll in ns. */
+    private static long benchmark(TestViewTree tree) {
+        long total = 0;
+        for (int i = 1; i <= FRAMES; i++) {
+            tree.runFrame();
+            long start = System.nanoTime();
+            tree.scrollView.scrollTo(0, i * STEP);
+            total += System.nanoTime() - start;
+        }
+        return total / FRAMES;
+    }
+
+    private static TestViewTree createClipped(int size, boolean incremental) {
+        TestViewTree tree = TestViewTree.createStacked(size, ROW_HEIGHT);
+        tree.content.setRemoveClippedSubviews(true);
+        tree.scrollView.setIncrementalClipping(incremental);
+        tree.scrollView.setRemoveClippedSubviews(true);
+        tree.runFrame();
+        return tree;
+    }
+
+    private static void scrollTo(TestViewTree tree, int y) {
+        tree.runFrame();
+        tree.scrollView.scrollTo(0, y);
+    }
+}
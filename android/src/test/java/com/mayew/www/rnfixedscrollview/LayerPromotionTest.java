@@ -0,0 +1,161 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Every layer promoted for a drag or a fling has to be demoted again, whichever way the gesture
+ * ends.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class LayerPromotionTest {
+    private static final float X = TestViewTree.WIDTH / 2;
+
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+    private long mDownTime;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(100, 100);
+        mScrollView = mTree.scrollView;
+        mScrollView.setHardwareLayerIndices(new int[] {0});
+    }
+
+    @After
+    public void assertBalanced() {
+        assertEquals(0, mScrollView.getPromotedLayerCount());
+        assertEquals(mScrollView.getLayerPromoteCount(), mScrollView.getLayerDemoteCount());
+    }
+
+    @Test
+    public void dragKeepsTheLayersUntilRelease() {
+        drag(600, 400);
+        assertPromoted(0);
+
+        // Held still before the release, so nothing flings
+        shadowOf(Looper.getMainLooper()).idleFor(200, TimeUnit.MILLISECONDS);
+        touch(MotionEvent.ACTION_UP, 400);
+        mTree.runFrames(60);
+
+        assertEquals(1, mScrollView.getLayerPromoteCount());
+    }
+
+    @Test
+    public void flingKeepsTheLayersUntilTheMomentumEnds() {
+        mScrollView.fling(3000);
+        mTree.runFrames(5);
+        assertPromoted(0);
+
+        mTree.runFrames(180);
+        assertEquals(1, mScrollView.getLayerPromoteCount());
+    }
+
+    @Test
+    public void replayedGesturesLeaveNothingPromoted() {
+        TouchTraceReplayer.replay(mTree, TouchTraceReplayer.slowDrag(X, 600, 200), 60);
+        TouchTraceReplayer.replay(mTree, TouchTraceReplayer.fastFling(X, 600, 300), 180);
+        TouchTraceReplayer.replay(mTree, TouchTraceReplayer.diagonalSwipe(X, 600, 200), 60);
+
+        // The diagonal swipe may or may not be taken as a drag, the other two always are
+        assertTrue(mScrollView.getLayerPromoteCount() >= 2);
+    }
+
+    @Test
+    public void detachDuringAFlingDemotes() {
+        mScrollView.fling(3000);
+        mTree.runFrames(5);
+        assertPromoted(0);
+
+        mTree.rootView.removeView(mScrollView);
+    }
+
+    @Test
+    public void changingTheIndicesMidDragMovesThePromotion() {
+        drag(600, 400);
+        assertPromoted(0);
+
+        mScrollView.setHardwareLayerIndices(new int[] {1});
+        assertPromoted(1);
+        assertEquals(View.LAYER_TYPE_NONE, mTree.content.getChildAt(0).getLayerType());
+
+        touch(MotionEvent.ACTION_CANCEL, 400);
+        mTree.runFrames(180);
+    }
+
+    @Test
+    public void clearingTheIndicesMidFlingDemotes() {
+        mScrollView.fling(3000);
+        mTree.runFrames(5);
+
+        mScrollView.setHardwareLayerIndices(null);
+        assertEquals(0, mScrollView.getPromotedLayerCount());
+
+        mTree.runFrames(180);
+    }
+
+    /**
+     * The indices are JS child indices: with every child kept in its own view, a child made of two
+     * rows is promoted as one layer and does not shift the index of the child after it.
+     */
+    @Test
+    public void childWithSeveralRowsIsOneLayer() {
+        ReactViewGroup group = new ReactViewGroup(mTree.context);
+        mTree.content.addView(group, 0);
+        TestViewTree.layout(group, 0, 0, TestViewTree.WIDTH, 200);
+        TestViewTree.addRows(group, 2, 100);
+        mScrollView.setHardwareLayerIndices(new int[] {0, 1});
+
+        mScrollView.fling(3000);
+        mTree.runFrames(5);
+        assertEquals(2, mScrollView.getPromotedLayerCount());
+        assertEquals(View.LAYER_TYPE_HARDWARE, group.getLayerType());
+        assertEquals(View.LAYER_TYPE_NONE, group.getChildAt(0).getLayerType());
+        assertEquals(View.LAYER_TYPE_HARDWARE, mTree.content.getChildAt(1).getLayerType());
+
+        mTree.runFrames(180);
+    }
+
+    private void assertPromoted(int index) {
+        assertEquals(1, mScrollView.getPromotedLayerCount());
+        assertEquals(View.LAYER_TYPE_HARDWARE, mTree.content.getChildAt(index).getLayerType());
+    }
+
+    /** Finger down at {@param fromY} and moved to {@param toY} in 10px steps, 10ms apart. */
+    private void drag(float fromY, float toY) {
+        mDownTime = SystemClock.uptimeMillis();
+        touch(MotionEvent.ACTION_DOWN, fromY);
+        float step = fromY > toY ? -10 : 10;
+        for (float y = fromY + step; step < 0 ? y >= toY : y <= toY; y += step) {
+            shadowOf(Looper.getMainLooper()).idleFor(10, TimeUnit.MILLISECONDS);
+            touch(MotionEvent.ACTION_MOVE, y);
+        }
+    }
+
+    private void touch(int action, float y) {
+        long now = SystemClock.uptimeMillis();
+        MotionEvent ev = MotionEvent.obtain(mDownTime, now, action, X, y, 0);
+        mTree.rootView.dispatchTouchEvent(ev);
+        ev.recycle();
+    }
+}
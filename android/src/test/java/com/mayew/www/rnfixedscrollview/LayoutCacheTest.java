@@ -0,0 +1,79 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Layout passes only correct the scroll position when the content, the viewport or the max scroll
+ * position changed size since the last correction.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class LayoutCacheTest {
+    private static final int HEADER_HEIGHT = 300;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int ITEM_COUNT = 20;
+
+    private TestViewTree mTree;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.create(HEADER_HEIGHT, 1, ITEM_COUNT, ITEM_HEIGHT);
+        mTree.scrollView.scrollTo(0, 150);
+        mTree.runFrame();
+    }
+
+    @Test
+    public void appendingToTheInnerListCorrectsNothing() {
+        int corrections = mTree.scrollView.getLayoutScrollCorrectionCount();
+        ViewGroup innerContent = (ViewGroup) mTree.innerScrollView.getChildAt(0);
+
+        for (int i = 1; i <= 50; i++) {
+            TestViewTree.layout(innerContent, 0, 0, TestViewTree.WIDTH, (ITEM_COUNT + i) * ITEM_HEIGHT);
+            TestViewTree.addRows(innerContent, 1, ITEM_HEIGHT);
+            innerContent.requestLayout();
+            mTree.runFrame();
+        }
+
+        assertEquals(corrections, mTree.scrollView.getLayoutScrollCorrectionCount());
+        assertEquals(150, mTree.scrollView.getScrollY());
+    }
+
+    @Test
+    public void relayingOutTheSameContentCorrectsNothing() {
+        int corrections = mTree.scrollView.getLayoutScrollCorrectionCount();
+
+        for (int i = 0; i < 10; i++) {
+            TestViewTree.layout(mTree.content, 0, 0, TestViewTree.WIDTH, HEADER_HEIGHT + TestViewTree.HEIGHT);
+            mTree.content.requestLayout();
+            mTree.runFrame();
+        }
+
+        assertEquals(corrections, mTree.scrollView.getLayoutScrollCorrectionCount());
+    }
+
+    @Test
+    public void shrinkingTheContentClampsTheScrollOnce() {
+        int corrections = mTree.scrollView.getLayoutScrollCorrectionCount();
+
+        // The max scroll position drops from 300 to 100, below the current 150
+        TestViewTree.layout(mTree.content, 0, 0, TestViewTree.WIDTH, TestViewTree.HEIGHT + 100);
+        mTree.runFrame();
+
+        assertEquals(100, mTree.scrollView.getScrollY());
+        assertEquals(corrections + 1, mTree.scrollView.getLayoutScrollCorrectionCount());
+
+        mTree.content.requestLayout();
+        mTree.runFrame();
+        assertEquals(corrections + 1, mTree.scrollView.getLayoutScrollCorrectionCount());
+    }
+}
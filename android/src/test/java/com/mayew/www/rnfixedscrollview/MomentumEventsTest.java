@@ -0,0 +1,95 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import com.facebook.react.views.scroll.ScrollEventType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class MomentumEventsTest {
+    private static final String MOMENTUM_BEGIN = ScrollEventType.MOMENTUM_BEGIN.getJSEventName();
+    private static final String MOMENTUM_END = ScrollEventType.MOMENTUM_END.getJSEventName();
+
+    private TestViewTree mTree;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(100, 100);
+        mTree.scrollView.setSendMomentumEvents(true);
+    }
+
+    @Test
+    public void flingRestartedMidMomentumKeepsTheSession() {
+        mTree.scrollView.fling(3000);
+        mTree.runFrames(5);
+        mTree.scrollView.fling(3000);
+        mTree.runFrames(5);
+        mTree.scrollView.fling(3000);
+        mTree.runFrames(180);
+
+        assertEquals(1, mTree.countEvents(MOMENTUM_BEGIN));
+        assertEquals(1, mTree.countEvents(MOMENTUM_END));
+    }
+
+    @Test
+    public void eachSettledFlingIsItsOwnSession() {
+        mTree.scrollView.fling(3000);
+        mTree.runFrames(180);
+        mTree.scrollView.fling(-3000);
+        mTree.runFrames(180);
+
+        assertEquals(2, mTree.countEvents(MOMENTUM_BEGIN));
+        assertEquals(2, mTree.countEvents(MOMENTUM_END));
+    }
+
+    @Test
+    public void momentumEndsOnTheFrameTheFlingSettles() {
+        mTree.scrollView.fling(3000);
+        int endFrame = -1;
+        int lastMovedFrame = -1;
+        int previousScrollY = mTree.scrollView.getScrollY();
+        for (int frame = 0; frame < 180; frame++) {
+            mTree.runFrame();
+            int scrollY = mTree.scrollView.getScrollY();
+            if (scrollY != previousScrollY) {
+                lastMovedFrame = frame;
+            }
+            previousScrollY = scrollY;
+            if (endFrame < 0 && mTree.countEvents(MOMENTUM_END) > 0) {
+                endFrame = frame;
+            }
+        }
+
+        assertTrue(endFrame >= 0);
+        // No polling delay: the end is seen on the last frame that moved, or the one right after
+        // it when the last step rounds to the same pixel
+        assertTrue(lastMovedFrame <= endFrame);
+        assertTrue(endFrame <= lastMovedFrame + 1);
+    }
+
+    @Test
+    public void fingerDownEndsTheMomentum() {
+        mTree.scrollView.fling(3000);
+        mTree.runFrames(5);
+
+        long now = SystemClock.uptimeMillis();
+        MotionEvent down = MotionEvent.obtain(now, now, MotionEvent.ACTION_DOWN, 100, 100, 0);
+        mTree.rootView.dispatchTouchEvent(down);
+        down.recycle();
+        mTree.runFrame();
+
+        assertEquals(1, mTree.countEvents(MOMENTUM_END));
+    }
+}
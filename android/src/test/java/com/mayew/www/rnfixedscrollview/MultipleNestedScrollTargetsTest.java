@@ -0,0 +1,136 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+import android.widget.ScrollView;
+
+import com.facebook.react.R;
+import com.facebook.react.views.scroll.ReactScrollView;
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A header above three tabs laid out side by side, as in a pager, each with its own list.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class MultipleNestedScrollTargetsTest {
+    private static final int HEADER_HEIGHT = 300;
+
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+    private ScrollView mFirstTab;
+    private ScrollView mSecondTab;
+    private ScrollView mThirdTab;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(0, 0);
+        mScrollView = mTree.scrollView;
+        TestViewTree.layout(mTree.content, 0, 0, TestViewTree.WIDTH, HEADER_HEIGHT + TestViewTree.HEIGHT);
+        View header = new View(mTree.context);
+        mTree.content.addView(header);
+        TestViewTree.layout(header, 0, 0, TestViewTree.WIDTH, HEADER_HEIGHT);
+        mFirstTab = addTab("first", 0);
+        mSecondTab = addTab("second", TestViewTree.WIDTH);
+        mThirdTab = addTab("third", 2 * TestViewTree.WIDTH);
+        mScrollView.setMaxScrollHeight(HEADER_HEIGHT);
+        mScrollView.setMultipleNestedScrollTargets(true);
+        mTree.runFrame();
+    }
+
+    @Test
+    public void everyInnerScrollViewIsTracked() {
+        assertSame(mFirstTab, mScrollView.getNestedScrollTarget());
+        assertEquals(3, mScrollView.getNestedScrollTargets().size());
+    }
+
+    @Test
+    public void targetNamedFromJsIsActive() {
+        mScrollView.getNestedScrollTarget();
+        mScrollView.setNestedScrollTargetId("second");
+
+        assertSame(mSecondTab, mScrollView.getNestedScrollTarget());
+        assertEquals(2, mScrollView.getNestedScrollTargetSwitchCount());
+    }
+
+    @Test
+    public void tabShownWithTheHeaderExpandedGetsItsOffsetBack() {
+        mScrollView.getNestedScrollTarget();
+        mFirstTab.scrollTo(0, 500);
+
+        mScrollView.setNestedScrollTargetId("second");
+        mFirstTab.scrollTo(0, 0);
+        mScrollView.setNestedScrollTargetId("first");
+
+        assertEquals(0, mScrollView.getScrollY());
+        assertEquals(500, mFirstTab.getScrollY());
+    }
+
+    @Test
+    public void tabShownForTheFirstTimeKeepsItsOwnOffset() {
+        mScrollView.getNestedScrollTarget();
+        mFirstTab.scrollTo(0, 500);
+        mSecondTab.scrollTo(0, 200);
+
+        mScrollView.setNestedScrollTargetId("second");
+
+        assertEquals(200, mSecondTab.getScrollY());
+    }
+
+    @Test
+    public void tabShownWithTheHeaderCollapsedGetsItsOffsetBack() {
+        mScrollView.getNestedScrollTarget();
+        mScrollView.scrollTo(0, HEADER_HEIGHT);
+        mFirstTab.scrollTo(0, 500);
+
+        mScrollView.setNestedScrollTargetId("second");
+        mFirstTab.scrollTo(0, 0);
+        mScrollView.setNestedScrollTargetId("first");
+
+        assertEquals(500, mFirstTab.getScrollY());
+    }
+
+    @Test
+    public void everyTabKeepsItsOwnOffset() {
+        mScrollView.getNestedScrollTarget();
+        mScrollView.scrollTo(0, HEADER_HEIGHT / 2);
+        mFirstTab.scrollTo(0, 500);
+        mScrollView.setNestedScrollTargetId("second");
+        mSecondTab.scrollTo(0, 300);
+        mScrollView.setNestedScrollTargetId("third");
+        mThirdTab.scrollTo(0, 100);
+
+        // Each list lost its position while it was not shown
+        mFirstTab.scrollTo(0, 0);
+        mSecondTab.scrollTo(0, 0);
+        mScrollView.setNestedScrollTargetId("first");
+        assertEquals(500, mFirstTab.getScrollY());
+        mThirdTab.scrollTo(0, 0);
+        mScrollView.setNestedScrollTargetId("second");
+        assertEquals(300, mSecondTab.getScrollY());
+        mScrollView.setNestedScrollTargetId("third");
+        assertEquals(100, mThirdTab.getScrollY());
+        assertEquals(6, mScrollView.getNestedScrollTargetSwitchCount());
+    }
+
+    private ScrollView addTab(String nativeId, int left) {
+        ReactScrollView tab = new ReactScrollView(mTree.context);
+        tab.setTag(R.id.view_tag_native_id, nativeId);
+        ReactViewGroup list = new ReactViewGroup(mTree.context);
+        mTree.content.addView(tab);
+        tab.addView(list);
+        TestViewTree.layout(tab, left, HEADER_HEIGHT, TestViewTree.WIDTH, TestViewTree.HEIGHT);
+        TestViewTree.layout(list, 0, 0, TestViewTree.WIDTH, 100 * 100);
+        return tab;
+    }
+}
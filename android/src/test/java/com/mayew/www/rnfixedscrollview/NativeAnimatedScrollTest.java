@@ -0,0 +1,160 @@
+package com.mayew.www.rnfixedscrollview;
+
+import com.facebook.react.animated.AnimatedNodeValueListener;
+import com.facebook.react.animated.NativeAnimatedNodesManager;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventDispatcher;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * The node tests map onScroll to an animated value the way Animated.event with the native driver
+ * does, and follow the value through NativeAnimatedNodesManager. Scroll events are serialized
+ * into Java-only maps, as the native ones need the bridge library.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(
+        sdk = 25,
+        shadows = NativeAnimatedScrollTest.ShadowArguments.class,
+        instrumentedPackages = "com.facebook.react.bridge.Arguments")
+@LooperMode(LooperMode.Mode.PAUSED)
+public class NativeAnimatedScrollTest {
+    private static final int FRAMES = 30;
+    private static final int VIEW_TAG = 11;
+    private static final int VALUE_TAG = 1;
+
+    @Implements(value = Arguments.class, isInAndroidSdk = false)
+    public static class ShadowArguments {
+        @Implementation
+        public static WritableMap createMap() {
+            return new JavaOnlyMap();
+        }
+
+        @Implementation
+        public static WritableArray createArray() {
+            return new JavaOnlyArray();
+        }
+    }
+
+    @Test
+    public void scrollOffsetDrivesTheMappedValueOnEveryFrame() {
+        TestViewTree tree = TestViewTree.createStacked(100, 100);
+        tree.scrollView.setScrollEventThrottle(1000);
+        tree.scrollView.setNativeAnimatedScroll(true);
+        List<Double> values = mapScrollOffset(tree);
+
+        int frames = scrollEveryFrame(tree);
+
+        assertEquals(frames, values.size());
+        for (int i = 0; i < frames; i++) {
+            assertEquals(PixelUtil.toDIPFromPixel((i + 1) * 10), values.get(i), 0.001);
+        }
+    }
+
+    @Test
+    public void throttleStarvesTheMappedValueWithoutNativeAnimatedScroll() {
+        TestViewTree tree = TestViewTree.createStacked(100, 100);
+        tree.scrollView.setScrollEventThrottle(1000);
+        List<Double> values = mapScrollOffset(tree);
+
+        int frames = scrollEveryFrame(tree);
+
+        assertTrue(values.size() < frames);
+    }
+
+    @Test
+    public void everyScrolledFrameIsDispatchedDespiteTheThrottle() {
+        TestViewTree tree = TestViewTree.createStacked(100, 100);
+        tree.scrollView.setScrollEventThrottle(1000);
+        tree.scrollView.setNativeAnimatedScroll(true);
+
+        int frames = scrollEveryFrame(tree);
+
+        assertEquals(frames, tree.scrollView.getEmittedScrollEventCount());
+        assertEquals(0, tree.scrollView.getDroppedScrollEventCount());
+    }
+
+    @Test
+    public void throttleStillAppliesWithoutNativeAnimatedScroll() {
+        TestViewTree tree = TestViewTree.createStacked(100, 100);
+        tree.scrollView.setScrollEventThrottle(1000);
+
+        int frames = scrollEveryFrame(tree);
+
+        assertTrue(tree.scrollView.getEmittedScrollEventCount() < frames);
+        assertTrue(tree.scrollView.getDroppedScrollEventCount() > 0);
+    }
+
+    /**
+     * Maps contentOffset.y of the onScroll events of {@param tree} to a value node, and returns
+     * the values the node takes, one per update.
+     */
+    private static List<Double> mapScrollOffset(TestViewTree tree) {
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(tree.context);
+        tree.scrollView.setId(VIEW_TAG);
+        UIManagerModule uiManager = tree.context.getNativeModule(UIManagerModule.class);
+        when(uiManager.getDirectEventNamesResolver()).thenReturn(new UIManagerModule.CustomEventNamesResolver() {
+            @Override
+            public String resolveCustomEventName(String eventName) {
+                return TestViewTree.SCROLL_EVENT.equals(eventName) ? "onScroll" : eventName;
+            }
+        });
+
+        final NativeAnimatedNodesManager nodesManager = new NativeAnimatedNodesManager(uiManager);
+        nodesManager.createAnimatedNode(VALUE_TAG, JavaOnlyMap.of("type", "value", "value", 0.0, "offset", 0.0));
+        nodesManager.addAnimatedEventToView(VIEW_TAG, "onScroll", JavaOnlyMap.of(
+                "animatedValueTag", VALUE_TAG,
+                "nativeEventPath", JavaOnlyArray.of("contentOffset", "y")));
+        final List<Double> values = new ArrayList<>();
+        nodesManager.startListeningToAnimatedNodeValue(VALUE_TAG, new AnimatedNodeValueListener() {
+            @Override
+            public void onValueUpdate(double value) {
+                values.add(value);
+            }
+        });
+
+        // Hand the dispatched events to the nodes manager, as NativeAnimatedModule has it listen to them
+        EventDispatcher eventDispatcher = uiManager.getEventDispatcher();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                nodesManager.onEventDispatch((Event) invocation.getArgument(0));
+                return null;
+            }
+        }).when(eventDispatcher).dispatchEvent(any(Event.class));
+        return values;
+    }
+
+    private static int scrollEveryFrame(TestViewTree tree) {
+        for (int i = 1; i <= FRAMES; i++) {
+            tree.runFrame();
+            tree.scrollView.scrollTo(0, i * 10);
+        }
+        return FRAMES;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.widget.ScrollView;
+
+import com.facebook.react.R;
+import com.facebook.react.uimanager.util.ReactFindViewUtil;
+import com.facebook.react.views.scroll.ReactScrollView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class NestedScrollTargetTest {
+    private TestViewTree mTree;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.create(300, 1, 20, 100);
+    }
+
+    @Test
+    public void cachedTargetIsKeptAcrossLayoutPasses() {
+        ScrollView target = mTree.scrollView.getNestedScrollTarget();
+        assertSame(mTree.innerScrollView, target);
+
+        mTree.content.requestLayout();
+        mTree.runFrame();
+        assertSame(target, mTree.scrollView.getNestedScrollTarget());
+    }
+
+    @Test
+    public void targetRemovedFromTheTreeIsLookedUpAgain() {
+        assertSame(mTree.innerScrollView, mTree.scrollView.getNestedScrollTarget());
+
+        mTree.content.removeView(mTree.innerScrollView);
+        mTree.runFrame();
+        assertNull(mTree.scrollView.getNestedScrollTarget());
+
+        ScrollView replacement = new ReactScrollView(mTree.context);
+        mTree.content.addView(replacement);
+        TestViewTree.layout(replacement, 0, 300, TestViewTree.WIDTH, TestViewTree.HEIGHT);
+        mTree.runFrame();
+        assertSame(replacement, mTree.scrollView.getNestedScrollTarget());
+    }
+
+    @Test
+    public void namedTargetReplacesTheFallbackOnceMounted() {
+        mTree.scrollView.setNestedScrollTargetId("list");
+        assertSame(mTree.innerScrollView, mTree.scrollView.getNestedScrollTarget());
+
+        ScrollView named = mountNamedScrollView("list");
+        mTree.runFrame();
+        assertSame(named, mTree.scrollView.getNestedScrollTarget());
+
+        // Once found, later layout passes keep it
+        mTree.content.requestLayout();
+        mTree.runFrame();
+        assertSame(named, mTree.scrollView.getNestedScrollTarget());
+    }
+
+    @Test
+    public void namedTargetThatNeverMountsIsNotLookedUpOnEveryLayout() {
+        mTree.scrollView.setNestedScrollTargetId("missing");
+        assertSame(mTree.innerScrollView, mTree.scrollView.getNestedScrollTarget());
+        int lookups = mTree.scrollView.getNestedScrollTargetLookupCount();
+
+        for (int i = 0; i < 10; i++) {
+            mTree.content.requestLayout();
+            mTree.runFrame();
+            assertSame(mTree.innerScrollView, mTree.scrollView.getNestedScrollTarget());
+        }
+        assertEquals(lookups, mTree.scrollView.getNestedScrollTargetLookupCount());
+
+        // Some other nativeID mounting does not count either
+        mountNamedScrollView("other");
+        mTree.runFrame();
+        assertSame(mTree.innerScrollView, mTree.scrollView.getNestedScrollTarget());
+        assertEquals(lookups, mTree.scrollView.getNestedScrollTargetLookupCount());
+
+        ScrollView named = mountNamedScrollView("missing");
+        mTree.runFrame();
+        assertSame(named, mTree.scrollView.getNestedScrollTarget());
+        assertEquals(lookups + 1, mTree.scrollView.getNestedScrollTargetLookupCount());
+    }
+
+    /** Adds a ScrollView below the header and sets its nativeID the way BaseViewManager does. */
+    private ScrollView mountNamedScrollView(String nativeId) {
+        ScrollView named = new ReactScrollView(mTree.context);
+        named.setTag(R.id.view_tag_native_id, nativeId);
+        ReactFindViewUtil.notifyViewRendered(named);
+        mTree.content.addView(named);
+        TestViewTree.layout(named, 0, 300, TestViewTree.WIDTH, TestViewTree.HEIGHT);
+        return named;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class OverdrawTest {
+    private static final long VIEWPORT_PIXELS = (long) TestViewTree.WIDTH * TestViewTree.HEIGHT;
+
+    @Test
+    public void backgroundIsSkippedUnderOpaqueContent() {
+        TestViewTree tree = TestViewTree.createStacked(20, 100);
+        tree.content.setBackgroundColor(Color.WHITE);
+        tree.scrollView.setBackgroundColor(Color.RED);
+        tree.scrollView.setOverdrawOptimization(true);
+        tree.runFrame();
+
+        assertEquals(0, tree.scrollView.getPaintedPixels());
+    }
+
+    @Test
+    public void backgroundIsOnlyDrawnBelowShortContent() {
+        TestViewTree tree = TestViewTree.createStacked(5, 100);
+        tree.content.setBackgroundColor(Color.WHITE);
+        tree.scrollView.setBackgroundColor(Color.RED);
+        tree.scrollView.setOverdrawOptimization(true);
+        tree.runFrame();
+
+        assertEquals((long) TestViewTree.WIDTH * (TestViewTree.HEIGHT - 500), tree.scrollView.getPaintedPixels());
+    }
+
+    @Test
+    public void translucentContentKeepsTheWholeBackground() {
+        TestViewTree tree = TestViewTree.createStacked(20, 100);
+        tree.content.setBackgroundColor(0x80FFFFFF);
+        tree.scrollView.setBackgroundColor(Color.RED);
+        tree.scrollView.setOverdrawOptimization(true);
+        tree.runFrame();
+
+        assertEquals(VIEWPORT_PIXELS, tree.scrollView.getPaintedPixels());
+    }
+
+    @Test
+    public void endFillOnlyCoversWhatTheContentLeavesEmpty() {
+        TestViewTree tree = TestViewTree.createStacked(5, 100);
+        tree.scrollView.setEndFillColor(Color.BLUE);
+        tree.runFrame();
+
+        assertEquals((long) TestViewTree.WIDTH * (TestViewTree.HEIGHT - 500), tree.scrollView.getPaintedPixels());
+    }
+
+    @Test
+    public void turningTheOptimizationOffRestoresTheBackground() {
+        TestViewTree tree = TestViewTree.createStacked(20, 100);
+        tree.scrollView.setBackgroundColor(Color.RED);
+        tree.scrollView.setOverdrawOptimization(true);
+        tree.scrollView.setOverdrawOptimization(false);
+
+        assertEquals(Color.RED, ((ColorDrawable) tree.scrollView.getBackground()).getColor());
+    }
+}
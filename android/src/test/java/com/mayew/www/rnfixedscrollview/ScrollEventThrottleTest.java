@@ -0,0 +1,101 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Scroll events are coalesced to at most one per {@code scrollEventThrottle}, and the offset the
+ * view comes to rest at is always sent last.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class ScrollEventThrottleTest {
+    private static final int THROTTLE_MS = 100;
+    private static final int FRAMES = 60;
+    private static final int STEP = 10;
+
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(100, 100);
+        mScrollView = mTree.scrollView;
+        mScrollView.setScrollEventThrottle(THROTTLE_MS);
+    }
+
+    @Test
+    public void eventsAreCoalescedToTheThrottleInterval() {
+        scrollEveryFrame(FRAMES);
+        mTree.runFrames(10);
+
+        // 60 frames of 16ms: one event per 100ms plus the trailing flush
+        int emitted = mScrollView.getEmittedScrollEventCount();
+        assertTrue(emitted >= 9);
+        assertTrue(emitted <= 11);
+        assertEquals(FRAMES, emitted + mScrollView.getDroppedScrollEventCount());
+        assertEquals(emitted, mTree.countEvents(TestViewTree.SCROLL_EVENT));
+
+        // The view moves STEP per 16ms frame, so events 100ms apart are at least 6 frames apart
+        List<Integer> offsets = mTree.scrollEventOffsets;
+        for (int i = 1; i < offsets.size(); i++) {
+            assertTrue(offsets.get(i) - offsets.get(i - 1) >= 6 * STEP);
+        }
+    }
+
+    @Test
+    public void finalOffsetIsAlwaysFlushed() {
+        scrollEveryFrame(3);
+        int pending = mTree.countEvents(TestViewTree.SCROLL_EVENT);
+        assertEquals(3 * STEP, mScrollView.getScrollY());
+
+        // Nothing scrolls any more, the last offset still goes out once the interval is over
+        mTree.runFrames(THROTTLE_MS / (int) TestViewTree.FRAME_INTERVAL_MS + 1);
+        assertEquals(pending + 1, mTree.countEvents(TestViewTree.SCROLL_EVENT));
+        assertEquals(3 * STEP, (int) last(mTree.scrollEventOffsets));
+
+        // And only once
+        mTree.runFrames(20);
+        assertEquals(pending + 1, mTree.countEvents(TestViewTree.SCROLL_EVENT));
+    }
+
+    @Test
+    public void finalOffsetOfALongScrollIsFlushed() {
+        for (int frames : new int[] {7, 13, 29}) {
+            scrollEveryFrame(frames);
+            mTree.runFrames(10);
+            assertEquals(mScrollView.getScrollY(), (int) last(mTree.scrollEventOffsets));
+        }
+    }
+
+    @Test
+    public void noThrottleSendsEveryFrame() {
+        mScrollView.setScrollEventThrottle(0);
+        scrollEveryFrame(FRAMES);
+
+        assertEquals(FRAMES, mScrollView.getEmittedScrollEventCount());
+        assertEquals(0, mScrollView.getDroppedScrollEventCount());
+    }
+
+    /** Scrolls down by {@link #STEP} on each of the next {@param frames} frames. */
+    private void scrollEveryFrame(int frames) {
+        for (int i = 0; i < frames; i++) {
+            mTree.runFrame();
+            mScrollView.scrollTo(0, mScrollView.getScrollY() + STEP);
+        }
+    }
+
+    private static Integer last(List<Integer> values) {
+        return values.get(values.size() - 1);
+    }
+}
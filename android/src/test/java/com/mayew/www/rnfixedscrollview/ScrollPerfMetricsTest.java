@@ -0,0 +1,85 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class ScrollPerfMetricsTest {
+    private static final long MS = 1000000L;
+
+    private ScrollPerfMetrics mMetrics;
+
+    @Before
+    public void setUp() {
+        ScrollPerfMetrics.clear();
+        mMetrics = ScrollPerfMetrics.forTag("list");
+    }
+
+    @Test
+    public void framesOnTimeDropNothing() {
+        mMetrics.recordFrame(16 * MS);
+        mMetrics.recordFrame(17 * MS);
+        mMetrics.recordFrame(24 * MS);
+
+        assertEquals(3, mMetrics.getFrameCount());
+        assertEquals(0, mMetrics.getDroppedFrameCount());
+    }
+
+    @Test
+    public void longFrameCountsTheVsyncsItMissed() {
+        mMetrics.recordFrame(50 * MS);
+        assertEquals(2, mMetrics.getDroppedFrameCount());
+
+        mMetrics.recordFrame(100 * MS);
+        assertEquals(2 + 5, mMetrics.getDroppedFrameCount());
+    }
+
+    @Test
+    public void resetClearsEveryCounter() {
+        mMetrics.recordFrame(50 * MS);
+        mMetrics.recordIntercept(100 * 1000L);
+        mMetrics.recordScrollEvent();
+        mMetrics.recordFling(300);
+        mMetrics.reset();
+
+        assertEquals(0, mMetrics.getFrameCount());
+        assertEquals(0, mMetrics.getDroppedFrameCount());
+        assertEquals(0, mMetrics.getInterceptCount());
+        assertEquals(0, mMetrics.getScrollEventCount());
+        assertEquals(0, mMetrics.getFlingCount());
+    }
+
+    @Test
+    public void metricsAreSharedPerTag() {
+        assertSame(mMetrics, ScrollPerfMetrics.forTag("list"));
+        assertSame(mMetrics, ScrollPerfMetrics.findForTag("list"));
+        assertTrue(Arrays.asList(ScrollPerfMetrics.getTags()).contains("list"));
+    }
+
+    @Test
+    public void findingAnUnknownTagDoesNotRegisterIt() {
+        assertNull(ScrollPerfMetrics.findForTag("unknown"));
+        assertFalse(Arrays.asList(ScrollPerfMetrics.getTags()).contains("unknown"));
+    }
+
+    @Test
+    public void clearDropsEveryTag() {
+        ScrollPerfMetrics.forTag("other");
+        ScrollPerfMetrics.clear();
+
+        assertEquals(0, ScrollPerfMetrics.getTags().length);
+        assertNull(ScrollPerfMetrics.findForTag("list"));
+    }
+}
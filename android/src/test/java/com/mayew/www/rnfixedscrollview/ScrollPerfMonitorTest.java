@@ -0,0 +1,98 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.Looper;
+
+import com.facebook.react.views.scroll.FpsListener;
+import com.facebook.react.views.scroll.ScrollEventType;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class ScrollPerfMonitorTest {
+    private static final String TAG = "list";
+    private static final String MOMENTUM_BEGIN = ScrollEventType.MOMENTUM_BEGIN.getJSEventName();
+    private static final String MOMENTUM_END = ScrollEventType.MOMENTUM_END.getJSEventName();
+
+    @Before
+    public void setUp() {
+        ScrollPerfMetrics.clear();
+    }
+
+    @Test
+    public void framesAreOnlyRecordedWhileStarted() {
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.forTag(TAG);
+        ScrollPerfMonitor monitor = new ScrollPerfMonitor(metrics);
+
+        monitor.start();
+        idle(200);
+        long frames = metrics.getFrameCount();
+        assertTrue(frames > 0);
+
+        monitor.stop();
+        idle(200);
+        assertEquals(frames, metrics.getFrameCount());
+    }
+
+    @Test
+    public void flingDurationIsRecordedOnce() {
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.forTag(TAG);
+        ScrollPerfMonitor monitor = new ScrollPerfMonitor(metrics);
+
+        monitor.onFlingStarted();
+        idle(300);
+        monitor.onFlingEnded();
+        monitor.onFlingEnded();
+
+        assertEquals(1, metrics.getFlingCount());
+    }
+
+    @Test
+    public void taggedViewRecordsItsFlingWithoutMomentumEvents() {
+        TestViewTree tree = TestViewTree.createStacked(100, 100);
+        tree.scrollView.setScrollPerfTag(TAG);
+
+        tree.scrollView.fling(3000);
+        tree.runFrames(180);
+
+        ScrollPerfMetrics metrics = ScrollPerfMetrics.findForTag(TAG);
+        assertEquals(1, metrics.getFlingCount());
+        assertTrue(metrics.getFrameCount() > 0);
+        // Without an FpsListener a tag does not turn the momentum events on
+        assertEquals(0, tree.countEvents(MOMENTUM_BEGIN));
+        assertEquals(0, tree.countEvents(MOMENTUM_END));
+    }
+
+    @Test
+    public void fpsListenerGetsTheFlingAndTheMomentumEvents() {
+        FpsListener fpsListener = mock(FpsListener.class);
+        TestViewTree tree = TestViewTree.createStacked(100, 100, fpsListener);
+        tree.scrollView.setScrollPerfTag(TAG);
+
+        tree.scrollView.fling(3000);
+        tree.runFrames(180);
+
+        verify(fpsListener).enable(TAG);
+        verify(fpsListener).disable(TAG);
+        assertEquals(1, tree.countEvents(MOMENTUM_BEGIN));
+        assertEquals(1, tree.countEvents(MOMENTUM_END));
+    }
+
+    private static void idle(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(ms, TimeUnit.MILLISECONDS);
+    }
+}
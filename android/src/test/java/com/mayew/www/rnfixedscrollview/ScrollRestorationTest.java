@@ -0,0 +1,140 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import android.view.AbsSavedState;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The offset comes back when the view is recreated, either from the saved instance state or from
+ * the offsets the view manager keeps per restorationKey. Content of 100px rows in an 800px
+ * viewport.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class ScrollRestorationTest {
+    private static final int ROW_HEIGHT = 100;
+
+    @Test
+    public void savedStateSurvivesParcelling() {
+        Parcel parcel = Parcel.obtain();
+        new FixedScrollView.SavedState(AbsSavedState.EMPTY_STATE, 420).writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+
+        FixedScrollView.SavedState state = FixedScrollView.SavedState.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+
+        assertEquals(420, state.mScrollY);
+    }
+
+    @Test
+    public void savedOffsetIsRestoredIntoANewView() {
+        TestViewTree first = createTree(20);
+        scrollTo(first, 600);
+        SparseArray<Parcelable> container = new SparseArray<>();
+        first.scrollView.saveHierarchyState(container);
+
+        TestViewTree second = createTree(20);
+        second.scrollView.restoreHierarchyState(container);
+
+        assertEquals(600, second.scrollView.getScrollY());
+    }
+
+    @Test
+    public void restoredOffsetIsClampedToTheNewContent() {
+        TestViewTree first = createTree(20);
+        scrollTo(first, 1200);
+        SparseArray<Parcelable> container = new SparseArray<>();
+        first.scrollView.saveHierarchyState(container);
+
+        TestViewTree second = createTree(10);
+        second.scrollView.restoreHierarchyState(container);
+
+        assertEquals(200, second.scrollView.getScrollY());
+    }
+
+    @Test
+    public void detachedViewKeepsItsOffsetUnderItsKey() {
+        Map<String, Integer> cache = new HashMap<>();
+        TestViewTree tree = createTree(20);
+        tree.scrollView.setScrollOffsetCache(cache);
+        tree.scrollView.setRestorationKey("feed");
+        scrollTo(tree, 500);
+
+        tree.rootView.removeView(tree.scrollView);
+
+        assertEquals(Integer.valueOf(500), cache.get("feed"));
+    }
+
+    @Test
+    public void viewWithTheSameKeyStartsAtTheCachedOffset() {
+        Map<String, Integer> cache = new HashMap<>();
+        cache.put("feed", 500);
+        cache.put("other", 100);
+
+        // The props are set before the content is laid out, as when the view is created
+        TestViewTree tree = TestViewTree.createStacked(0, ROW_HEIGHT);
+        tree.scrollView.setScrollOffsetCache(cache);
+        tree.scrollView.setRestorationKey("feed");
+        assertEquals(0, tree.scrollView.getScrollY());
+
+        layoutRows(tree, 20);
+
+        assertEquals(500, tree.scrollView.getScrollY());
+    }
+
+    @Test
+    public void viewWithoutAKeyStartsAtTheTop() {
+        Map<String, Integer> cache = new HashMap<>();
+        cache.put("feed", 500);
+
+        TestViewTree tree = TestViewTree.createStacked(0, ROW_HEIGHT);
+        tree.scrollView.setScrollOffsetCache(cache);
+        layoutRows(tree, 20);
+
+        assertEquals(0, tree.scrollView.getScrollY());
+    }
+
+    @Test
+    public void viewDetachedBeforeItsRestoreKeepsTheCachedOffset() {
+        Map<String, Integer> cache = new HashMap<>();
+        cache.put("feed", 500);
+
+        // Never laid out: its offset of 0 is not the one to remember
+        TestViewTree tree = TestViewTree.createStacked(0, ROW_HEIGHT);
+        tree.scrollView.setScrollOffsetCache(cache);
+        tree.scrollView.setRestorationKey("feed");
+        tree.rootView.removeView(tree.scrollView);
+
+        assertEquals(Integer.valueOf(500), cache.get("feed"));
+    }
+
+    private static TestViewTree createTree(int rowCount) {
+        TestViewTree tree = TestViewTree.createStacked(rowCount, ROW_HEIGHT);
+        tree.scrollView.setId(1);
+        return tree;
+    }
+
+    private static void layoutRows(TestViewTree tree, int rowCount) {
+        TestViewTree.layout(tree.content, 0, 0, TestViewTree.WIDTH, rowCount * ROW_HEIGHT);
+        TestViewTree.addRows(tree.content, rowCount, ROW_HEIGHT);
+        tree.runFrame();
+    }
+
+    private static void scrollTo(TestViewTree tree, int y) {
+        tree.runFrame();
+        tree.scrollView.scrollTo(0, y);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mayew.www.rnfixedscrollview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SnapTest {
+    private TestViewTree mTree;
+    private FixedScrollView mScrollView;
+    private int mMaxScrollY;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(100, 100);
+        mScrollView = mTree.scrollView;
+        mMaxScrollY = mScrollView.getMaxScrollY();
+    }
+
+    @Test
+    public void intervalSnapsToTheNearestMultiple() {
+        mScrollView.setSnapInterval(250);
+
+        assertEquals(0, mScrollView.getSnapTarget(120, mMaxScrollY));
+        assertEquals(250, mScrollView.getSnapTarget(125, mMaxScrollY));
+        assertEquals(250, mScrollView.getSnapTarget(370, mMaxScrollY));
+        assertEquals(500, mScrollView.getSnapTarget(380, mMaxScrollY));
+    }
+
+    @Test
+    public void offsetsSnapToTheNearestOffset() {
+        mScrollView.setSnapOffsets(new int[] {0, 400, 1000});
+
+        assertEquals(0, mScrollView.getSnapTarget(150, mMaxScrollY));
+        assertEquals(400, mScrollView.getSnapTarget(690, mMaxScrollY));
+        assertEquals(1000, mScrollView.getSnapTarget(710, mMaxScrollY));
+        assertEquals(1000, mScrollView.getSnapTarget(5000, mMaxScrollY));
+    }
+
+    @Test
+    public void offsetsTakePrecedenceOverTheInterval() {
+        mScrollView.setSnapInterval(250);
+        mScrollView.setSnapOffsets(new int[] {0, 400});
+
+        assertEquals(400, mScrollView.getSnapTarget(260, mMaxScrollY));
+    }
+
+    @Test
+    public void pagingSnapsToViewportMultiples() {
+        mScrollView.setPagingEnabled(true);
+
+        assertEquals(0, mScrollView.getSnapTarget(390, mMaxScrollY));
+        assertEquals(TestViewTree.HEIGHT, mScrollView.getSnapTarget(410, mMaxScrollY));
+    }
+
+    @Test
+    public void targetIsClampedToTheScrollRange() {
+        mScrollView.setSnapInterval(250);
+
+        assertEquals(mMaxScrollY, mScrollView.getSnapTarget(mMaxScrollY - 10, mMaxScrollY));
+        assertEquals(0, mScrollView.getSnapTarget(-100, mMaxScrollY));
+    }
+
+    @Test
+    public void flingEndsOnASnapPosition() {
+        mScrollView.setSnapInterval(250);
+        mScrollView.fling(2000);
+        mTree.runFrames(180);
+
+        assertEquals(0, mScrollView.getScrollY() % 250);
+    }
+
+    @Test
+    public void releaseWithoutFlingEndsOnASnapPosition() {
+        mScrollView.setSnapInterval(250);
+        TouchTraceReplayer.replay(mTree, TouchTraceReplayer.slowDrag(TestViewTree.WIDTH / 2, 700, 150), 60);
+
+        assertEquals(250, mScrollView.getScrollY());
+    }
+}
@@ -0,0 +1,128 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Content of 100px rows with sticky headers at rows 2 (top 200) and 5 (top 500).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class StickyHeadersTest {
+    private TestViewTree mTree;
+    private View mFirst;
+    private View mSecond;
+
+    @Before
+    public void setUp() {
+        mTree = TestViewTree.createStacked(20, 100);
+        mTree.scrollView.setStickyHeaderIndices(new int[] {2, 5});
+        mFirst = mTree.content.getChildAt(2);
+        mSecond = mTree.content.getChildAt(5);
+    }
+
+    @Test
+    public void headersScrollWithTheContentUntilTheyReachTheTop() {
+        scrollTo(150);
+
+        assertEquals(0f, mFirst.getTranslationY(), 0);
+        assertEquals(0f, mSecond.getTranslationY(), 0);
+    }
+
+    @Test
+    public void headerPastTheTopIsPinned() {
+        scrollTo(250);
+
+        assertEquals(50f, mFirst.getTranslationY(), 0);
+        assertEquals(0f, mSecond.getTranslationY(), 0);
+    }
+
+    @Test
+    public void nextHeaderPushesThePinnedOneOff() {
+        scrollTo(450);
+        // Pinned at 450 would overlap the next header at 500, it stops right above it
+        assertEquals(200f, mFirst.getTranslationY(), 0);
+        assertEquals(0f, mSecond.getTranslationY(), 0);
+
+        scrollTo(600);
+        assertEquals(200f, mFirst.getTranslationY(), 0);
+        assertEquals(100f, mSecond.getTranslationY(), 0);
+    }
+
+    @Test
+    public void stackedHeadersPinBelowEachOther() {
+        mTree.scrollView.setStickyHeadersStacked(true);
+
+        scrollTo(450);
+        assertEquals(250f, mFirst.getTranslationY(), 0);
+        assertEquals(50f, mSecond.getTranslationY(), 0);
+
+        scrollTo(600);
+        assertEquals(400f, mFirst.getTranslationY(), 0);
+        assertEquals(200f, mSecond.getTranslationY(), 0);
+    }
+
+    @Test
+    public void scrollingBackUnpinsTheHeaders() {
+        scrollTo(600);
+        scrollTo(0);
+
+        assertEquals(0f, mFirst.getTranslationY(), 0);
+        assertEquals(0f, mSecond.getTranslationY(), 0);
+    }
+
+    @Test
+    public void clearingTheIndicesResetsTheTranslations() {
+        scrollTo(250);
+        mTree.scrollView.setStickyHeaderIndices(null);
+
+        assertEquals(0f, mFirst.getTranslationY(), 0);
+    }
+
+    /**
+     * The indices are JS child indices: with every child kept in its own view, a child made of
+     * two rows still counts once, so the header at index 2 is found after it and not the row
+     * that would be native child 2 if the child was flattened into the content.
+     */
+    @Test
+    public void childWithSeveralRowsCountsOnce() {
+        TestViewTree tree = TestViewTree.createStacked(0, 100);
+        TestViewTree.layout(tree.content, 0, 0, TestViewTree.WIDTH, 2000);
+        ReactViewGroup group = addChild(tree, 0, 200);
+        TestViewTree.addRows(group, 2, 100);
+        ReactViewGroup row = addChild(tree, 200, 100);
+        ReactViewGroup header = addChild(tree, 300, 100);
+        addChild(tree, 400, 1600);
+        tree.scrollView.setStickyHeaderIndices(new int[] {2});
+
+        tree.runFrame();
+        tree.scrollView.scrollTo(0, 350);
+
+        assertEquals(50f, header.getTranslationY(), 0);
+        assertEquals(0f, row.getTranslationY(), 0);
+    }
+
+    private static ReactViewGroup addChild(TestViewTree tree, int top, int height) {
+        ReactViewGroup child = new ReactViewGroup(tree.context);
+        tree.content.addView(child);
+        TestViewTree.layout(child, 0, top, TestViewTree.WIDTH, height);
+        return child;
+    }
+
+    /** Scroll changes closer than a frame apart are coalesced, so each one gets its own frame. */
+    private void scrollTo(int y) {
+        mTree.runFrame();
+        mTree.scrollView.scrollTo(0, y);
+    }
+}
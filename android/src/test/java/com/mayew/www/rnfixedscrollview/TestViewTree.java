@@ -0,0 +1,220 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Looper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.queue.ReactQueueConfiguration;
+import com.facebook.react.uimanager.RootView;
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventDispatcher;
+import com.facebook.react.views.scroll.FpsListener;
+import com.facebook.react.views.scroll.ReactScrollView;
+import com.facebook.react.views.scroll.ScrollEventType;
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.Robolectric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * A FixedScrollView attached to an activity window the way the JS side lays it out, below a root
+ * view so native gestures can be reported. As with the UIManager, children are positioned by hand
+ * and not by the scroll views' own layout passes, and the size of the tree is up to the test.
+ * Events meant for JS are recorded in {@link #dispatchedEvents}, and the offsets carried by the
+ * scroll events in {@link #scrollEventOffsets}.
+ */
+class TestViewTree {
+    static final int WIDTH = 480;
+    static final int HEIGHT = 800;
+    static final long FRAME_INTERVAL_MS = 16;
+    static final String SCROLL_EVENT = ScrollEventType.SCROLL.getJSEventName();
+
+    final Activity activity;
+    final ThemedReactContext context;
+    final TestRootView rootView;
+    final FixedScrollView scrollView;
+    final ReactViewGroup content;
+    final List<Integer> scrollEventOffsets = new ArrayList<>();
+    final List<String> dispatchedEvents = new ArrayList<String>() {
+        @Override
+        public boolean add(String eventName) {
+            if (eventName.equals(SCROLL_EVENT)) {
+                // Scroll events carry the offset of the view at the time they are dispatched
+                scrollEventOffsets.add(scrollView.getScrollY());
+            }
+            return super.add(eventName);
+        }
+    };
+    @Nullable ReactViewGroup header;
+    @Nullable ReactScrollView innerScrollView;
+    private final Canvas mCanvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+
+    private TestViewTree(@Nullable FpsListener fpsListener) {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        context = createReactContext(activity, dispatchedEvents);
+        rootView = new TestRootView(context);
+        scrollView = new FixedScrollView(context, fpsListener);
+        content = new ReactViewGroup(context);
+        rootView.addView(scrollView, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        scrollView.addView(content);
+        activity.setContentView(rootView);
+        runFrame();
+    }
+
+    /**
+     * A header of {@param headerHeight} made of {@param headerChildCount} views, followed by an
+     * inner ScrollView filling the viewport with {@param itemCount} rows of {@param itemHeight}.
+     * The header is what collapses, {@code maxScrollHeight} is set to its height.
+     */
+    static TestViewTree create(int headerHeight, int headerChildCount, int itemCount, int itemHeight) {
+        TestViewTree tree = new TestViewTree(null);
+        ReactViewGroup header = new ReactViewGroup(tree.context);
+        ReactScrollView innerScrollView = new ReactScrollView(tree.context);
+        ReactViewGroup innerContent = new ReactViewGroup(tree.context);
+        tree.content.addView(header);
+        tree.content.addView(innerScrollView);
+        innerScrollView.addView(innerContent);
+        tree.header = header;
+        tree.innerScrollView = innerScrollView;
+        tree.scrollView.setMaxScrollHeight(headerHeight);
+
+        layout(tree.content, 0, 0, WIDTH, headerHeight + HEIGHT);
+        layout(header, 0, 0, WIDTH, headerHeight);
+        addRows(header, headerChildCount, 0);
+        layout(innerScrollView, 0, headerHeight, WIDTH, HEIGHT);
+        layout(innerContent, 0, 0, WIDTH, itemCount * itemHeight);
+        addRows(innerContent, itemCount, itemHeight);
+        tree.runFrame();
+        return tree;
+    }
+
+    /**
+     * Content made of {@param childCount} stacked children of {@param childHeight}, without a
+     * header or an inner ScrollView.
+     */
+    static TestViewTree createStacked(int childCount, int childHeight) {
+        return createStacked(childCount, childHeight, null);
+    }
+
+    /** Same as {@link #createStacked(int, int)}, with an FpsListener given to the scroll view. */
+    static TestViewTree createStacked(int childCount, int childHeight, @Nullable FpsListener fpsListener) {
+        TestViewTree tree = new TestViewTree(fpsListener);
+        layout(tree.content, 0, 0, WIDTH, childCount * childHeight);
+        addRows(tree.content, childCount, childHeight);
+        tree.runFrame();
+        return tree;
+    }
+
+    /**
+     * Advances the clock by one frame, running what was posted for it including layout passes,
+     * and draws the tree, which steps the scrollers through computeScroll.
+     */
+    void runFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        rootView.draw(mCanvas);
+    }
+
+    void runFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            runFrame();
+        }
+    }
+
+    /**
+     * Adds {@param count} full-width children to {@param parent}, each {@param rowHeight} below
+     * the previous one, or all covering the parent when {@param rowHeight} is 0.
+     */
+    static void addRows(ViewGroup parent, int count, int rowHeight) {
+        int height = rowHeight > 0 ? rowHeight : parent.getHeight();
+        for (int i = 0; i < count; i++) {
+            View row = new View(parent.getContext());
+            parent.addView(row);
+            layout(row, 0, i * rowHeight, WIDTH, height);
+        }
+    }
+
+    /** Measures and lays out {@param view} at the given position, as UIManager does. */
+    static void layout(View view, int left, int top, int width, int height) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(left, top, left + width, top + height);
+    }
+
+    /**
+     * A context whose UIManagerModule records the name of each dispatched event in
+     * {@param events}, so the scroll helpers can run without a JS instance.
+     */
+    static ThemedReactContext createReactContext(Activity activity, final List<String> events) {
+        CatalystInstance catalystInstance = mock(CatalystInstance.class);
+        UIManagerModule uiManager = mock(UIManagerModule.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        when(catalystInstance.getReactQueueConfiguration()).thenReturn(mock(ReactQueueConfiguration.class));
+        when(catalystInstance.getNativeModule(UIManagerModule.class)).thenReturn(uiManager);
+        when(uiManager.getEventDispatcher()).thenReturn(eventDispatcher);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                Event event = invocation.getArgument(0);
+                events.add(event.getEventName());
+                return null;
+            }
+        }).when(eventDispatcher).dispatchEvent(any(Event.class));
+
+        ReactApplicationContext reactContext = new ReactApplicationContext(activity);
+        reactContext.initializeWithInstance(catalystInstance);
+        return new ThemedReactContext(reactContext, activity);
+    }
+
+    int countEvents(String eventName) {
+        int count = 0;
+        for (String dispatched : dispatchedEvents) {
+            if (dispatched.equals(eventName)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Stands in for ReactRootView, which NativeGestureUtil looks for above the scroll views. */
+    static class TestRootView extends FrameLayout implements RootView {
+        int nativeGestureCount;
+
+        TestRootView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void onChildStartedNativeGesture(MotionEvent androidEvent) {
+            nativeGestureCount++;
+        }
+
+        @Override
+        public void handleException(Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Replays a recorded touch trace through a {@link TestViewTree} and reports what the view did
+ * with it. Runs on the paused main looper: the clock only moves to the time of each sample and by
+ * one frame per {@link TestViewTree#runFrame()}, so the velocities, fling curves and throttle
+ * windows, and with them the resulting offsets and events, are the same on every run. Events go
+ * through the root view's dispatchTouchEvent, so onInterceptTouchEvent and onTouchEvent run as
+ * they would on device.
+ */
+class TouchTraceReplayer {
+    /** A recorded gesture: one sample per MotionEvent, times relative to the finger-down. */
+    static class Trace {
+        final int[] mActions;
+        final float[] mXs;
+        final float[] mYs;
+        final long[] mTimes;
+
+        Trace(int[] actions, float[] xs, float[] ys, long[] times) {
+            if (actions.length != xs.length || actions.length != ys.length || actions.length != times.length) {
+                throw new IllegalArgumentException("Trace arrays must have the same length");
+            }
+            mActions = actions;
+            mXs = xs;
+            mYs = ys;
+            mTimes = times;
+        }
+
+        int size() {
+            return mActions.length;
+        }
+    }
+
+    static class Result {
+        int eventCount;
+        long eventTimeNs;
+        long eventAllocatedBytes;
+        int frameCount;
+        long frameTimeNs;
+        long frameAllocatedBytes;
+        int dispatchedEvents;
+        int emittedScrollEvents;
+        int droppedScrollEvents;
+        int startScrollY;
+        int endScrollY;
+        int innerStartScrollY;
+        int innerEndScrollY;
+
+        long getNsPerEvent() {
+            return eventCount == 0 ? 0 : eventTimeNs / eventCount;
+        }
+
+        long getNsPerFrame() {
+            return frameCount == 0 ? 0 : frameTimeNs / frameCount;
+        }
+
+        /** -1 when the JVM cannot count allocations per thread. */
+        long getBytesPerEvent() {
+            return eventCount == 0 || eventAllocatedBytes < 0 ? -1 : eventAllocatedBytes / eventCount;
+        }
+
+        long getBytesPerFrame() {
+            return frameCount == 0 || frameAllocatedBytes < 0 ? -1 : frameAllocatedBytes / frameCount;
+        }
+
+        @Override
+        public String toString() {
+            return "events=" + eventCount
+                    + " ns/event=" + getNsPerEvent()
+                    + " bytes/event=" + getBytesPerEvent()
+                    + " frames=" + frameCount
+                    + " ns/frame=" + getNsPerFrame()
+                    + " bytes/frame=" + getBytesPerFrame()
+                    + " dispatched=" + dispatchedEvents
+                    + " scrollEvents=" + emittedScrollEvents
+                    + " dropped=" + droppedScrollEvents
+                    + " scrollY=" + startScrollY + "->" + endScrollY
+                    + " innerScrollY=" + innerStartScrollY + "->" + innerEndScrollY;
+        }
+    }
+
+    /**
+     * A straight gesture from (fromX, fromY) to (toX, toY) with evenly spaced samples.
+     */
+    static Trace line(float fromX, float fromY, float toX, float toY, long durationMs, int moveSamples) {
+        int size = moveSamples + 2;
+        int[] actions = new int[size];
+        float[] xs = new float[size];
+        float[] ys = new float[size];
+        long[] times = new long[size];
+        for (int i = 0; i < size; i++) {
+            float fraction = (float) i / (size - 1);
+            actions[i] = MotionEvent.ACTION_MOVE;
+            xs[i] = fromX + (toX - fromX) * fraction;
+            ys[i] = fromY + (toY - fromY) * fraction;
+            times[i] = (long) (durationMs * fraction);
+        }
+        actions[0] = MotionEvent.ACTION_DOWN;
+        actions[size - 1] = MotionEvent.ACTION_UP;
+        return new Trace(actions, xs, ys, times);
+    }
+
+    /**
+     * Finger moving up slowly, then held still long enough before the release that the velocity
+     * drops to zero and nothing flings.
+     */
+    static Trace slowDrag(float x, float fromY, float distance) {
+        Trace drag = line(x, fromY, x, fromY - distance, 1000, 60);
+        int size = drag.size() + 1;
+        int[] actions = new int[size];
+        float[] xs = new float[size];
+        float[] ys = new float[size];
+        long[] times = new long[size];
+        System.arraycopy(drag.mActions, 0, actions, 0, drag.size());
+        System.arraycopy(drag.mXs, 0, xs, 0, drag.size());
+        System.arraycopy(drag.mYs, 0, ys, 0, drag.size());
+        System.arraycopy(drag.mTimes, 0, times, 0, drag.size());
+        actions[size - 2] = MotionEvent.ACTION_MOVE;
+        actions[size - 1] = MotionEvent.ACTION_UP;
+        xs[size - 1] = xs[size - 2];
+        ys[size - 1] = ys[size - 2];
+        times[size - 1] = times[size - 2] + 200;
+        return new Trace(actions, xs, ys, times);
+    }
+
+    /** Short and fast swipe up, released with a fling. */
+    static Trace fastFling(float x, float fromY, float distance) {
+        return line(x, fromY, x, fromY - distance, 80, 5);
+    }
+
+    /** Swipe at ~45 degrees, which should not be taken for a vertical drag. */
+    static Trace diagonalSwipe(float fromX, float fromY, float distance) {
+        return line(fromX, fromY, fromX - distance, fromY - distance, 200, 12);
+    }
+
+    /**
+     * Swipe up long enough to collapse a header of the given height and keep going, so the rest
+     * of the gesture and the fling are handed off to the inner ScrollView.
+     */
+    static Trace collapseAndHandoff(float x, float fromY, float headerHeight) {
+        return line(x, fromY, x, fromY - headerHeight * 2, 150, 10);
+    }
+
+    static Result replay(TestViewTree tree, Trace trace, int frames) {
+        ShadowLooper looper = shadowOf(Looper.getMainLooper());
+        FixedScrollView view = tree.scrollView;
+        Result result = new Result();
+        int dispatched = tree.dispatchedEvents.size();
+        int emitted = view.getEmittedScrollEventCount();
+        int dropped = view.getDroppedScrollEventCount();
+        result.startScrollY = view.getScrollY();
+        result.innerStartScrollY = tree.innerScrollView == null ? 0 : tree.innerScrollView.getScrollY();
+
+        long downTime = SystemClock.uptimeMillis();
+        for (int i = 0, size = trace.size(); i < size; i++) {
+            long eventTime = downTime + trace.mTimes[i];
+            long now = SystemClock.uptimeMillis();
+            if (eventTime > now) {
+                looper.idleFor(eventTime - now, TimeUnit.MILLISECONDS);
+            }
+            MotionEvent ev = MotionEvent.obtain(
+                    downTime, eventTime, trace.mActions[i], trace.mXs[i], trace.mYs[i], 0);
+            long allocated = getAllocatedBytes();
+            long start = System.nanoTime();
+            tree.rootView.dispatchTouchEvent(ev);
+            result.eventTimeNs += System.nanoTime() - start;
+            result.eventAllocatedBytes = addAllocated(result.eventAllocatedBytes, allocated);
+            result.eventCount++;
+            ev.recycle();
+        }
+
+        for (int i = 0; i < frames; i++) {
+            long allocated = getAllocatedBytes();
+            long start = System.nanoTime();
+            tree.runFrame();
+            result.frameTimeNs += System.nanoTime() - start;
+            result.frameAllocatedBytes = addAllocated(result.frameAllocatedBytes, allocated);
+            result.frameCount++;
+        }
+
+        result.dispatchedEvents = tree.dispatchedEvents.size() - dispatched;
+        result.emittedScrollEvents = view.getEmittedScrollEventCount() - emitted;
+        result.droppedScrollEvents = view.getDroppedScrollEventCount() - dropped;
+        result.endScrollY = view.getScrollY();
+        result.innerEndScrollY = tree.innerScrollView == null ? 0 : tree.innerScrollView.getScrollY();
+        return result;
+    }
+
+    /**
+     * Runs {@param frames} frames and returns the bytes allocated by each of them, or null when the
+     * JVM does not count allocations.
+     */
+    static long[] measureFrameAllocations(TestViewTree tree, int frames) {
+        long[] bytes = new long[frames];
+        for (int i = 0; i < frames; i++) {
+            long allocated = getAllocatedBytes();
+            tree.runFrame();
+            if (allocated < 0) {
+                return null;
+            }
+            bytes[i] = getAllocatedBytes() - allocated;
+        }
+        return bytes;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 when the JVM does not count them.
+     */
+    static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long addAllocated(long total, long allocatedBefore) {
+        if (total < 0 || allocatedBefore < 0) {
+            return -1;
+        }
+        return total + getAllocatedBytes() - allocatedBefore;
+    }
+}
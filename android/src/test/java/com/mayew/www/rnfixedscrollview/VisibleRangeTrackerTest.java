@@ -0,0 +1,187 @@
+package com.mayew.www.rnfixedscrollview;
+
+import android.view.View;
+
+import com.facebook.react.views.view.ReactViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Ten 100px rows, row i covering [i * 100, i * 100 + 100). The benchmark prints the cost of an
+ * update on 5k rows next to the one of a scan of every row.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 25)
+public class VisibleRangeTrackerTest {
+    private static final int BENCHMARK_SIZE = 5000;
+    private static final int VIEWPORT = 800;
+    private static final int FRAMES = 120;
+
+    private ReactViewGroup mContent;
+    private VisibleRangeTracker mTracker;
+
+    @Before
+    public void setUp() {
+        mContent = new ReactViewGroup(RuntimeEnvironment.application);
+        TestViewTree.layout(mContent, 0, 0, 100, 1000);
+        for (int i = 0; i < 10; i++) {
+            addChild(i * 100, 100);
+        }
+        mTracker = new VisibleRangeTracker();
+        mTracker.rebuild(mContent);
+    }
+
+    @Test
+    public void partlyVisibleRowsAreViewableFromTheThreshold() {
+        mTracker.update(150, 450, 100, 50);
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, viewable());
+        assertArrayEquals(new int[] {0, 5}, near());
+    }
+
+    @Test
+    public void rowsBelowTheThresholdAreOnlyNear() {
+        mTracker.update(150, 450, 100, 60);
+
+        assertArrayEquals(new int[] {2, 3}, viewable());
+        assertArrayEquals(new int[] {0, 1, 4, 5}, near());
+    }
+
+    @Test
+    public void updateReportsWhetherTheSetsChanged() {
+        assertTrue(mTracker.update(120, 420, 0, 50));
+        assertFalse(mTracker.update(130, 430, 0, 50));
+        assertTrue(mTracker.update(300, 600, 0, 50));
+    }
+
+    @Test
+    public void changesAreKeptUntilEmitted() {
+        mTracker.update(0, 300, 0, 50);
+        assertTrue(mTracker.hasChanges());
+        mTracker.markEmitted();
+        assertFalse(mTracker.hasChanges());
+
+        // In and back out before the dwell time ended: nothing new to report
+        mTracker.update(300, 600, 0, 50);
+        assertTrue(mTracker.hasChanges());
+        mTracker.update(0, 300, 0, 50);
+        assertFalse(mTracker.hasChanges());
+    }
+
+    @Test
+    public void childrenAreOrderedByTop() {
+        addChild(250, 100);
+        mTracker.rebuild(mContent);
+        mTracker.update(200, 400, 0, 50);
+
+        assertArrayEquals(new int[] {2, 10, 3}, viewable());
+    }
+
+    @Test
+    public void tallChildStartingAboveTheViewportIsFound() {
+        addChild(0, 1000);
+        mTracker.rebuild(mContent);
+        mTracker.update(660, 940, 0, 50);
+
+        assertArrayEquals(new int[] {7, 8}, viewable());
+        assertArrayEquals(new int[] {10, 6, 9}, near());
+    }
+
+    @Test
+    public void emptyChildIsViewableInsideTheViewport() {
+        addChild(550, 0);
+        mTracker.rebuild(mContent);
+        mTracker.update(500, 600, 0, 50);
+
+        assertArrayEquals(new int[] {5, 10}, viewable());
+    }
+
+    /**
+     * Items are the children of the content: a child made of several rows is one item, which is
+     * why JS keeps each of its children in its own view.
+     */
+    @Test
+    public void childWithSeveralRowsIsOneItem() {
+        ReactViewGroup group = new ReactViewGroup(RuntimeEnvironment.application);
+        mContent.addView(group);
+        TestViewTree.layout(group, 0, 1000, 100, 200);
+        TestViewTree.addRows(group, 2, 100);
+        mTracker.rebuild(mContent);
+        mTracker.update(1000, 1200, 0, 50);
+
+        assertArrayEquals(new int[] {10}, viewable());
+    }
+
+    @Test
+    public void updateOnFiveThousandRowsMatchesAFullScan() {
+        mContent = new ReactViewGroup(RuntimeEnvironment.application);
+        TestViewTree.layout(mContent, 0, 0, 100, BENCHMARK_SIZE * 100);
+        for (int i = 0; i < BENCHMARK_SIZE; i++) {
+            addChild(i * 100, 100);
+        }
+        mTracker.rebuild(mContent);
+
+        long tracked = 0;
+        long scanned = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            int top = frame * (BENCHMARK_SIZE * 100 - VIEWPORT) / FRAMES;
+            long start = System.nanoTime();
+            mTracker.update(top, top + VIEWPORT, VIEWPORT / 2, 50);
+            tracked += System.nanoTime() - start;
+            start = System.nanoTime();
+            int[] expected = scanViewable(top, top + VIEWPORT, 50);
+            scanned += System.nanoTime() - start;
+
+            assertArrayEquals(expected, viewable());
+        }
+        System.out.println("visibleRange/" + BENCHMARK_SIZE + ": ns/update tracker=" + tracked / FRAMES
+                + " scan=" + scanned / FRAMES);
+    }
+
+    private int[] viewable() {
+        int[] items = new int[mTracker.getViewableCount()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = mTracker.getViewableItem(i);
+        }
+        return items;
+    }
+
+    private int[] near() {
+        int[] items = new int[mTracker.getNearCount()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = mTracker.getNearItem(i);
+        }
+        return items;
+    }
+
+    /** The viewable rows of the sorted content, found by looking at every one of them. */
+    private int[] scanViewable(int top, int bottom, float thresholdPercent) {
+        int[] items = new int[mContent.getChildCount()];
+        int count = 0;
+        for (int i = 0; i < mContent.getChildCount(); i++) {
+            View child = mContent.getChildAt(i);
+            int visible = Math.min(child.getBottom(), bottom) - Math.max(child.getTop(), top);
+            if (visible > 0 && visible * 100f >= thresholdPercent * child.getHeight()) {
+                items[count++] = i;
+            }
+        }
+        return Arrays.copyOf(items, count);
+    }
+
+    private void addChild(int top, int height) {
+        View child = new View(RuntimeEnvironment.application);
+        mContent.addView(child);
+        TestViewTree.layout(child, 0, top, 100, height);
+    }
+}
@@ -9,14 +9,36 @@ declare module 'react-native-fixed-scrollview' {
         showsVerticalScrollIndicator?: boolean;
         style?: any;
         maxScrollHeight?:number;
+        maxScrollWidth?:number;
         autoScroll?:boolean;
         autoScrollAnimated?:boolean;
         autoScrollThresholdUp?:number;
         autoScrollThresholdDown?:number;
+        nestedScrollTargetId?:string;
+        multipleNestedScrollTargets?:boolean;
+        nestedScrollMode?: "intercept" | "nested";
+        removeClippedSubviews?:boolean;
+        incrementalClipping?:boolean;
+        clippingOverscan?:number;
+        overdrawOptimization?:boolean;
+        restorationKey?:string;
+        offsetChannel?:boolean;
+        nativeAnimatedScroll?:boolean;
+        hardwareLayerIndices?:number[];
+        itemVisiblePercentThreshold?:number;
+        minimumViewTime?:number;
+        visibleItemsOverscan?:number;
         overScrollMode?: "auto" | "always" | "never";
         scrollEnabled?:boolean;
         scrollEventThrottle?:number;
+        scrollPerfTag?:string;
         scrollsToTop?:boolean;
+        pagingEnabled?:boolean;
+        decelerationRate?: "normal" | "fast" | number;
+        snapToInterval?:number;
+        snapToOffsets?:number[];
+        stickyHeaderIndices?:number[];
+        stickyHeadersStacked?:boolean;
         refreshControl?: React.ReactElement<RefreshControlProps>;
 
         onScroll?(event: NativeSyntheticEvent<NativeScrollEvent>): void;
@@ -24,7 +46,48 @@ declare module 'react-native-fixed-scrollview' {
         onScrollEndDrag?(event: NativeSyntheticEvent<NativeScrollEvent>): void;
         onMomentumScrollEnd?(event: NativeSyntheticEvent<NativeScrollEvent>): void;
         onMomentumScrollBegin?(event: NativeSyntheticEvent<NativeScrollEvent>): void;
+        onVisibleItemsChanged?(event: NativeSyntheticEvent<VisibleItemsChangedEvent>): void;
     }
 
-    export default class FixedScrollView extends React.Component<FixedScrollViewProps, any> {}
+    export interface VisibleItemsChangedEvent {
+        viewableItems: number[];
+        nearItems: number[];
+    }
+
+    export interface ScrollPerfHistogram {
+        buckets: number[];
+        counts: number[];
+    }
+
+    export interface ScrollPerfMetrics {
+        frameCount: number;
+        droppedFrameCount: number;
+        frameTimeMs: ScrollPerfHistogram;
+        interceptCount: number;
+        interceptTimeTotalUs: number;
+        interceptTimeUs: ScrollPerfHistogram;
+        scrollEventCount: number;
+        flingCount: number;
+        flingDurationMs: ScrollPerfHistogram;
+    }
+
+    export interface FixedScrollOperation {
+        type: "scrollTo" | "scrollBy" | "collapseHeader" | "expandHeader" | "scrollToEnd";
+        x?: number;
+        y?: number;
+        inner?: boolean;
+        animated?: boolean;
+    }
+
+    export default class FixedScrollView extends React.Component<FixedScrollViewProps, any> {
+        scrollBy(options: {x?: number, y?: number, animated?: boolean}): void;
+        collapseHeader(options?: {animated?: boolean}): void;
+        expandHeader(options?: {animated?: boolean}): void;
+        batchScroll(operations: FixedScrollOperation[]): void;
+        getCurrentOffset(): number | null;
+        static Animated: any;
+        static getPerfTags(): Promise<string[]>;
+        static getPerfMetrics(scrollPerfTag: string): Promise<ScrollPerfMetrics | null>;
+        static resetPerfMetrics(scrollPerfTag: string): void;
+    }
 }
\ No newline at end of file
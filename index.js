@@ -15,7 +15,7 @@
  * run Flow. */
 import React from 'react';
 import {
-    View, ScrollView, Platform, StyleSheet, requireNativeComponent, ViewPropTypes
+    Animated, View, ScrollView, Platform, StyleSheet, requireNativeComponent, ViewPropTypes, NativeModules, UIManager
 } from 'react-native';
 const invariant = require('fbjs/lib/invariant');
 const flattenStyle = StyleSheet.flatten;
@@ -65,6 +65,30 @@ class FixedScrollView extends ScrollView<any, any> {
         autoScrollAnimated:PropTypes.bool,
         autoScrollThresholdUp:PropTypes.number,
         autoScrollThresholdDown:PropTypes.number,
+        maxScrollWidth:PropTypes.number,
+        nestedScrollTargetId:PropTypes.string,
+        multipleNestedScrollTargets:PropTypes.bool,
+        nestedScrollMode:PropTypes.oneOf(['intercept', 'nested']),
+        incrementalClipping:PropTypes.bool,
+        clippingOverscan:PropTypes.number,
+        overdrawOptimization:PropTypes.bool,
+        restorationKey:PropTypes.string,
+        offsetChannel:PropTypes.bool,
+        nativeAnimatedScroll:PropTypes.bool,
+        /**
+         * Indexes of the content children, e.g. `[0]` for the header, drawn into hardware layers
+         * while the view is dragged or flinging (Android only).
+         */
+        hardwareLayerIndices:PropTypes.arrayOf(PropTypes.number),
+        /**
+         * Called with `{viewableItems, nearItems}`, the indexes of the content children in view
+         * and of those within `visibleItemsOverscan` of it, whenever either set changes.
+         * Computed natively (Android only).
+         */
+        onVisibleItemsChanged:PropTypes.func,
+        itemVisiblePercentThreshold:PropTypes.number,
+        minimumViewTime:PropTypes.number,
+        visibleItemsOverscan:PropTypes.number,
         showsHorizontalScrollIndicator: PropTypes.bool,
         showsVerticalScrollIndicator: PropTypes.bool,
         onScroll: PropTypes.func,
@@ -72,6 +96,51 @@ class FixedScrollView extends ScrollView<any, any> {
         ...ScrollView.propTypes
     }
 
+    _dispatchCommand(command: string, args: Array<any>) {
+        const viewManager = Platform.OS === 'android' && this.props.horizontal ?
+            UIManager.FixedHorizontalScrollView : UIManager.FixedScrollView;
+        UIManager.dispatchViewManagerCommand(
+            this.getScrollableNode(),
+            viewManager.Commands[command],
+            args
+        );
+    }
+
+    /**
+     * Scrolls by `y`, or by `x` when `horizontal` on Android. The view only scrolls along one
+     * axis, the other offset is ignored.
+     */
+    scrollBy(options: {x?: number, y?: number, animated?: boolean}) {
+        const {x = 0, y = 0, animated = true} = options || {};
+        this._dispatchCommand('scrollBy', [x, y, animated]);
+    }
+
+    collapseHeader(options?: {animated?: boolean}) {
+        this._dispatchCommand('collapseHeader', [!options || options.animated !== false]);
+    }
+
+    expandHeader(options?: {animated?: boolean}) {
+        this._dispatchCommand('expandHeader', [!options || options.animated !== false]);
+    }
+
+    /**
+     * Applies several scroll operations in a single native pass, e.g.
+     * `[{type: 'collapseHeader'}, {type: 'scrollTo', y: 0, inner: true}]`.
+     * Offsets are read from `x` instead of `y` when `horizontal` on Android.
+     */
+    batchScroll(operations: Array<Object>) {
+        this._dispatchCommand('batch', [operations]);
+    }
+
+    /**
+     * Latest y offset written natively when `offsetChannel` is set (Android only), read
+     * synchronously without waiting for an onScroll event. Null when the channel is not set.
+     */
+    getCurrentOffset() {
+        const channel = NativeModules.FixedScrollViewOffsetChannel;
+        return channel && this.props.offsetChannel ? channel.getOffsetY(this.getScrollableNode()) : null;
+    }
+
     render() {
         let ScrollViewClass;
         let ScrollContentContainerViewClass;
@@ -127,8 +196,29 @@ class FixedScrollView extends ScrollView<any, any> {
 
         const {stickyHeaderIndices} = this.props;
         const hasStickyHeaders = stickyHeaderIndices && stickyHeaderIndices.length > 0;
-        const childArray = hasStickyHeaders && React.Children.toArray(this.props.children);
-        const children = hasStickyHeaders ?
+        // On Android sticky headers are pinned natively by FixedScrollView, they only need to be
+        // kept as non-collapsable children drawn above the rest of the content.
+        const nativeStickyHeaders = hasStickyHeaders && Platform.OS === 'android' && !this.props.horizontal;
+        // FixedScrollView resolves stickyHeaderIndices and hardwareLayerIndices, and reports the items
+        // of onVisibleItemsChanged, by the index of the native children of the content, so every
+        // child is kept in its own non-collapsable view: a layout-only child would otherwise be
+        // flattened into its own children and shift the index of every child after it.
+        const {hardwareLayerIndices} = this.props;
+        const nativeChildIndices = nativeStickyHeaders ||
+            (Platform.OS === 'android' && !this.props.horizontal && (
+                !!this.props.onVisibleItemsChanged ||
+                !!(hardwareLayerIndices && hardwareLayerIndices.length > 0)));
+        const childArray = (hasStickyHeaders || nativeChildIndices) && React.Children.toArray(this.props.children);
+        const children = nativeChildIndices ?
+            childArray.map((child, index) => (
+                <View
+                    key={child.key}
+                    style={nativeStickyHeaders && stickyHeaderIndices.indexOf(index) > -1 ? styles.stickyHeader : null}
+                    collapsable={false}>
+                    {child}
+                </View>
+            )) :
+            hasStickyHeaders ?
             childArray.map((child, index) => {
                 const indexOfIndex = child ? stickyHeaderIndices.indexOf(index) : -1;
                 if (indexOfIndex > -1) {
@@ -206,9 +296,10 @@ class FixedScrollView extends ScrollView<any, any> {
             onTouchMove: this.scrollResponderHandleTouchMove,
             onTouchStart: this.scrollResponderHandleTouchStart,
             onTouchCancel: this.scrollResponderHandleTouchCancel,
-            scrollEventThrottle: hasStickyHeaders ? 1 : this.props.scrollEventThrottle,
+            scrollEventThrottle: hasStickyHeaders && !nativeStickyHeaders ? 1 : this.props.scrollEventThrottle,
             sendMomentumEvents: (this.props.onMomentumScrollBegin || this.props.onMomentumScrollEnd) ?
                 true : false,
+            visibleItemsTracking: this.props.onVisibleItemsChanged ? true : false,
             DEPRECATED_sendUpdatedChildFrames,
         };
 
@@ -269,6 +360,9 @@ const styles = StyleSheet.create({
     contentContainerHorizontal: {
         flexDirection: 'row',
     },
+    stickyHeader: {
+        zIndex: 10,
+    },
 });
 
 let nativeOnlyProps,
@@ -281,6 +375,7 @@ if (Platform.OS === 'android') {
     nativeOnlyProps = {
         nativeOnly: {
             sendMomentumEvents: true,
+            visibleItemsTracking: true,
         }
     };
     AndroidScrollView = requireNativeComponent(
@@ -288,6 +383,12 @@ if (Platform.OS === 'android') {
         (FixedScrollView: React.ComponentType<any>),
         nativeOnlyProps
     );
+    AndroidHorizontalScrollView = requireNativeComponent(
+        'FixedHorizontalScrollView',
+        (FixedScrollView: React.ComponentType<any>),
+        nativeOnlyProps
+    );
+    AndroidHorizontalScrollContentView = View;
 
 } else if (Platform.OS === 'ios') {
     nativeOnlyProps = {
@@ -306,4 +407,39 @@ if (Platform.OS === 'android') {
     RCTScrollContentView = requireNativeComponent('FixedScrollView', View);
 }
 
+/**
+ * Scroll performance metrics collected natively for each `scrollPerfTag` (Android only).
+ */
+const FixedScrollViewPerf = NativeModules.FixedScrollViewPerf;
+FixedScrollView.getPerfTags = () =>
+    FixedScrollViewPerf ? FixedScrollViewPerf.getTags() : Promise.resolve([]);
+FixedScrollView.getPerfMetrics = (scrollPerfTag: string) =>
+    FixedScrollViewPerf ? FixedScrollViewPerf.getMetrics(scrollPerfTag) : Promise.resolve(null);
+FixedScrollView.resetPerfMetrics = (scrollPerfTag: string) => {
+    if (FixedScrollViewPerf) {
+        FixedScrollViewPerf.resetMetrics(scrollPerfTag);
+    }
+};
+
+function processDecelerationRate(decelerationRate) {
+    if (decelerationRate === 'normal') {
+        return Platform.OS === 'ios' ? 0.998 : 0.985;
+    } else if (decelerationRate === 'fast') {
+        return Platform.OS === 'ios' ? 0.99 : 0.9;
+    }
+    return decelerationRate;
+}
+
+/**
+ * FixedScrollView for `Animated.event(..., {useNativeDriver: true})` on `onScroll`: every scroll
+ * frame is dispatched natively so the header animations run on the UI thread.
+ */
+class AnimatedFixedScrollViewBase extends FixedScrollView {
+    static defaultProps = {
+        ...FixedScrollView.defaultProps,
+        nativeAnimatedScroll: true,
+    };
+}
+FixedScrollView.Animated = Animated.createAnimatedComponent(AnimatedFixedScrollViewBase);
+
 module.exports = FixedScrollView;